@@ -0,0 +1,266 @@
+package id.xtramile.flexretry;
+
+import id.xtramile.flexretry.config.RetryConfig;
+import id.xtramile.flexretry.control.breaker.CallNotPermittedException;
+import id.xtramile.flexretry.control.breaker.CircuitBreaker;
+import id.xtramile.flexretry.observability.events.RetryEvent;
+import id.xtramile.flexretry.strategy.stop.StopStrategy;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of {@link RetryExecutor}: attempts run on an executor and the
+ * backoff between them is a timer tick, so no thread sleeps while an execution waits.
+ * Honours the config's policy, stop, backoff (with its router), tuning, retry switch, budget,
+ * circuit breaker, listeners (except onHedge), event bus, metrics and fallback. Attempt timeouts,
+ * bulkhead, single-flight, cache, lifecycle, trace, hedging, Retry-After, retry scopes and
+ * dead letters are only applied by the blocking {@link RetryExecutor}.
+ */
+public final class AsyncRetryExecutor<T> {
+    private final RetryConfig<T> config;
+    private final ScheduledExecutorService timer;
+    private final Executor executor;
+
+    public AsyncRetryExecutor(RetryConfig<T> config, ScheduledExecutorService timer, Executor executor) {
+        this.config = Objects.requireNonNull(config, "config");
+        this.timer = Objects.requireNonNull(timer, "timer");
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if ((throwable instanceof CompletionException || throwable instanceof ExecutionException) && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+
+        return throwable;
+    }
+
+    private static void safeRun(Runnable r) {
+        try {
+            r.run();
+        } catch (Throwable ignore) {
+        }
+    }
+
+    /**
+     * Runs a blocking task; each attempt is submitted to the executor.
+     */
+    public CompletableFuture<T> run(Callable<T> task) {
+        Objects.requireNonNull(task, "task");
+
+        return runStage(() -> {
+            CompletableFuture<T> attempt = new CompletableFuture<>();
+
+            executor.execute(() -> {
+                try {
+                    attempt.complete(task.call());
+                } catch (Throwable t) {
+                    attempt.completeExceptionally(t);
+                }
+            });
+
+            return attempt;
+        });
+    }
+
+    /**
+     * Runs an asynchronous task; "stage" is invoked once per attempt.
+     */
+    public CompletableFuture<T> runStage(Supplier<? extends CompletionStage<T>> stage) {
+        Objects.requireNonNull(stage, "stage");
+
+        Execution execution = new Execution(stage, config.clock.nanoTime());
+        execution.attempt(1);
+
+        return execution.promise;
+    }
+
+    private final class Execution {
+        final Supplier<? extends CompletionStage<T>> stage;
+        final long startNanos;
+        final CompletableFuture<T> promise = new CompletableFuture<>();
+
+        // attempts run one after another, each handed over through the executor or the timer
+        T lastResult;
+        Throwable lastError;
+        long lastLatencyNanos;
+
+        Execution(Supplier<? extends CompletionStage<T>> stage, long startNanos) {
+            this.stage = stage;
+            this.startNanos = startNanos;
+        }
+
+        void attempt(int attempt) {
+            if (promise.isDone()) {
+                return; // cancelled by the caller
+            }
+
+            CircuitBreaker.Permit permit = config.circuitBreaker == null ? null : config.circuitBreaker.tryAcquire();
+
+            if (config.circuitBreaker != null && permit == null) {
+                if (attempt == 1) {
+                    rejected();
+                } else {
+                    exhausted(attempt - 1, "Circuit breaker open at attempt " + attempt);
+                }
+
+                return;
+            }
+
+            Duration nextDelay = RetryExecutor.nextDelay(config.backoff, config.backoffRouter, config.tuning, attempt, lastError);
+            RetryContext<T> ctx = new RetryContext<>(config.name, config.id, attempt, Integer.MAX_VALUE, lastResult, lastError, nextDelay, config.tags);
+
+            safeRun(() -> config.listeners.onAttempt.accept(ctx));
+            config.metrics.attemptStarted(config.name, attempt);
+
+            if (config.eventBus != null && config.eventBus.wants(RetryEvent.Type.ATTEMPT_STARTED, attempt)) {
+                safeRun(() -> config.eventBus.publish(new RetryEvent.AttemptStarted<>(ctx)));
+            }
+
+            long attemptStart = config.clock.nanoTime();
+
+            try {
+                stage.get().whenComplete((result, error) ->
+                        completed(ctx, permit, result, error == null ? null : unwrap(error), config.clock.nanoTime() - attemptStart));
+            } catch (Throwable t) {
+                completed(ctx, permit, null, t, config.clock.nanoTime() - attemptStart);
+            }
+        }
+
+        void completed(RetryContext<T> ctx, CircuitBreaker.Permit permit, T result, Throwable error, long latencyNanos) {
+            int attempt = ctx.attempt();
+            lastLatencyNanos = latencyNanos;
+            lastResult = result;
+            lastError = error;
+
+            if (error == null) {
+                if (config.circuitBreaker != null) {
+                    config.circuitBreaker.onSuccess(permit, latencyNanos);
+                }
+                safeRun(() -> config.listeners.afterAttemptSuccess.accept(result, ctx));
+            } else {
+                if (config.circuitBreaker != null) {
+                    config.circuitBreaker.onError(permit, error, latencyNanos);
+                }
+                safeRun(() -> config.listeners.afterAttemptFailure.accept(error, ctx));
+            }
+
+            if (!config.policy.shouldRetry(result, error, attempt, Integer.MAX_VALUE)) {
+                if (error == null) {
+                    succeeded(attempt, result);
+                } else {
+                    failed(attempt, RetryEvent.Type.ATTEMPT_FAILED, "Retry failed after " + attempt + " attempt(s)");
+                }
+
+                return;
+            }
+
+            // Tuning and the switch may change between attempts, but not within one
+            StopStrategy stop = RetryExecutor.effectiveStop(config.stop, config.tuning, config.retrySwitch);
+            Duration delay = RetryExecutor.nextDelay(config.backoff, config.backoffRouter, config.tuning, attempt, error);
+
+            if (stop.shouldStop(attempt + 1, startNanos, config.clock.nanoTime(), delay) || !config.budget.tryAcquire()) {
+                exhausted(attempt, "Retry exhausted at attempt " + attempt);
+                return;
+            }
+
+            Duration adjusted;
+            try {
+                adjusted = config.listeners.beforeSleep.apply(delay, ctx);
+            } catch (Throwable ignore) {
+                adjusted = null;
+            }
+            long delayNanos = Math.max(0L, (adjusted == null ? delay : adjusted).toNanos());
+
+            try {
+                timer.schedule(() -> attempt(attempt + 1), delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                lastError = e;
+                failed(attempt, RetryEvent.Type.ATTEMPT_FAILED, "Retry timer rejected the next attempt");
+            }
+        }
+
+        void succeeded(int attempt, T result) {
+            RetryContext<T> ctxSuccess = new RetryContext<>(config.name, config.id, attempt, attempt, result, null, Duration.ZERO, config.tags);
+            safeRun(() -> config.listeners.onSuccess.accept(result, ctxSuccess));
+            config.metrics.attemptSucceeded(config.name, attempt);
+
+            if (config.eventBus != null && config.eventBus.wants(RetryEvent.Type.ATTEMPT_SUCCEEDED, attempt)) {
+                safeRun(() -> config.eventBus.publish(new RetryEvent.AttemptSucceeded<>(ctxSuccess, result, lastLatencyNanos)));
+            }
+
+            finish(attempt);
+            promise.complete(result);
+        }
+
+        void exhausted(int attempts, String message) {
+            failed(attempts, RetryEvent.Type.EXHAUSTED, message);
+        }
+
+        void failed(int attempt, RetryEvent.Type type, String message) {
+            Throwable error = lastError;
+            RetryContext<T> ctxFail = new RetryContext<>(config.name, config.id, attempt, attempt, lastResult, error, Duration.ZERO, config.tags);
+            safeRun(() -> config.listeners.onFailure.accept(error, ctxFail));
+
+            if (type == RetryEvent.Type.EXHAUSTED) {
+                safeRun(() -> config.metrics.exhausted(config.name, attempt, error));
+            } else {
+                safeRun(() -> config.metrics.attemptFailed(config.name, attempt, error));
+            }
+
+            if (config.eventBus != null && config.eventBus.wants(type, attempt)) {
+                RetryEvent<T> event = type == RetryEvent.Type.EXHAUSTED
+                        ? new RetryEvent.Exhausted<>(ctxFail, error, lastLatencyNanos)
+                        : new RetryEvent.AttemptFailed<>(ctxFail, error, lastLatencyNanos);
+                safeRun(() -> config.eventBus.publish(event));
+            }
+
+            if (config.fallback != null) {
+                safeRun(() -> config.listeners.onRecover.accept(ctxFail));
+                finish(attempt);
+                recover(error);
+                return;
+            }
+
+            finish(attempt);
+            promise.completeExceptionally(new RetryException(message, error, attempt));
+        }
+
+        /**
+         * Breaker rejected the first attempt: fail fast like {@link RetryExecutor}, without listeners or events.
+         */
+        void rejected() {
+            CallNotPermittedException rejected = config.circuitBreaker.notPermitted();
+
+            if (config.fallback != null) {
+                recover(rejected);
+            } else {
+                promise.completeExceptionally(rejected);
+            }
+        }
+
+        void recover(Throwable error) {
+            try {
+                promise.complete(config.fallback.apply(error));
+            } catch (Throwable t) {
+                promise.completeExceptionally(t);
+            }
+        }
+
+        void finish(int attempt) {
+            int att = Math.max(1, attempt);
+            safeRun(() -> config.listeners.onFinally.accept(new RetryContext<>(config.name, config.id, att, att, null, null, Duration.ZERO, config.tags)));
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package id.xtramile.flexretry;
+
+import id.xtramile.flexretry.support.time.Clock;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+import java.util.function.LongConsumer;
+
+/**
+ * Shared timer that interrupts an attempt running on the calling thread once its timeout passes,
+ * or once a hedged copy of it has won.
+ */
+final class AttemptWatchdog {
+    private static final int RUNNING = 0;
+    private static final int DONE = 1;
+    private static final int FIRING = 2;
+    private static final int FIRED = 3;
+    // fired while the caller was already interrupted by someone else; that flag must survive
+    private static final int PREEMPTED = 4;
+
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private AttemptWatchdog() {
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "flexretry-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+
+        return timer;
+    }
+
+    static <T> T call(Callable<T> task, long timeoutNanos) throws Exception {
+        Thread caller = Thread.currentThread();
+        AtomicInteger state = new AtomicInteger(RUNNING);
+
+        ScheduledFuture<?> alarm = TIMER.schedule(() -> {
+            if (state.compareAndSet(RUNNING, FIRING)) {
+                if (caller.isInterrupted()) {
+                    state.set(PREEMPTED);
+                } else {
+                    caller.interrupt();
+                    state.set(FIRED);
+                }
+            }
+        }, Math.max(0L, timeoutNanos), TimeUnit.NANOSECONDS);
+
+        try {
+            return task.call();
+        } catch (Exception e) {
+            if (state.get() >= FIRING) {
+                TimeoutException timeout = new TimeoutException();
+                timeout.initCause(e);
+                throw timeout;
+            }
+
+            throw e;
+        } finally {
+            if (!state.compareAndSet(RUNNING, DONE)) {
+                // the watchdog fired; wait for its interrupt to land, then swallow only its own.
+                // An external interrupt landing after the watchdog's is indistinguishable from it
+                while (state.get() == FIRING) {
+                    Thread.onSpinWait();
+                }
+
+                if (state.get() == FIRED) {
+                    Thread.interrupted();
+                }
+            }
+
+            alarm.cancel(false);
+        }
+    }
+
+    /**
+     * Hedged attempt whose primary copy runs on the calling thread. Every "hedgeDelayNanos" the timer
+     * launches another copy on "executor", up to "maxHedges" and only while "mayHedge" allows it.
+     * The first copy to succeed wins; a winning hedge or the timeout interrupts the caller. Once the
+     * primary fails on its own, no more copies are launched and the running ones are awaited.
+     * "primaryLatency" gets the primary's elapsed time unless it failed on its own.
+     */
+    static <T> T hedged(Callable<T> task, long timeoutNanos, long hedgeDelayNanos, int maxHedges,
+                        ExecutorService executor, IntPredicate mayHedge, Clock clock, LongConsumer primaryLatency) throws Exception {
+        Race<T> race = new Race<>(Thread.currentThread(), task, executor, mayHedge, hedgeDelayNanos, maxHedges);
+        long start = clock.nanoTime();
+        ScheduledFuture<?> alarm = timeoutNanos == Long.MAX_VALUE
+                ? null
+                : TIMER.schedule(race::fire, Math.max(0L, timeoutNanos), TimeUnit.NANOSECONDS);
+
+        race.schedule(1);
+
+        try {
+            T result;
+
+            try {
+                result = task.call();
+            } catch (Exception e) {
+                if (race.state.compareAndSet(RUNNING, DONE)) {
+                    // the primary failed on its own; let copies already running finish
+                    return race.awaitHedges(e, timeoutNanos == Long.MAX_VALUE ? Long.MAX_VALUE : start + timeoutNanos, clock);
+                }
+
+                primaryLatency.accept(clock.nanoTime() - start);
+
+                if (race.winner.isDone() && !race.winner.isCompletedExceptionally()) {
+                    return race.winner.get();
+                }
+
+                TimeoutException timeout = new TimeoutException();
+                timeout.initCause(e);
+                throw timeout;
+            }
+
+            primaryLatency.accept(clock.nanoTime() - start);
+            return result;
+        } finally {
+            if (!race.state.compareAndSet(RUNNING, DONE)) {
+                race.settle();
+            }
+
+            race.stop();
+
+            if (alarm != null) {
+                alarm.cancel(false);
+            }
+        }
+    }
+
+    private static final class Race<T> {
+        final Thread caller;
+        final Callable<T> task;
+        final ExecutorService executor;
+        final IntPredicate mayHedge;
+        final long hedgeDelayNanos;
+        final int maxHedges;
+
+        final AtomicInteger state = new AtomicInteger(RUNNING);
+        final CompletableFuture<T> winner = new CompletableFuture<>();
+        final List<Future<?>> hedges = new CopyOnWriteArrayList<>();
+        // hedges launched and not yet finished
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        volatile boolean launching = true;
+        volatile boolean stopped;
+        volatile ScheduledFuture<?> nextLaunch;
+
+        Race(Thread caller, Callable<T> task, ExecutorService executor, IntPredicate mayHedge, long hedgeDelayNanos, int maxHedges) {
+            this.caller = caller;
+            this.task = task;
+            this.executor = executor;
+            this.mayHedge = mayHedge;
+            this.hedgeDelayNanos = hedgeDelayNanos;
+            this.maxHedges = maxHedges;
+        }
+
+        void schedule(int hedgeNo) {
+            try {
+                nextLaunch = TIMER.schedule(() -> launch(hedgeNo), hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                launching = false;
+            }
+        }
+
+        void launch(int hedgeNo) {
+            if (!launching || state.get() != RUNNING || !mayHedge.test(hedgeNo)) {
+                return;
+            }
+
+            inFlight.incrementAndGet();
+
+            try {
+                hedges.add(executor.submit(this::runHedge));
+            } catch (RejectedExecutionException e) {
+                finishHedge(e);
+                return;
+            }
+
+            if (stopped) {
+                cancelHedges();
+            } else if (launching && hedgeNo < maxHedges) {
+                schedule(hedgeNo + 1);
+            }
+        }
+
+        void runHedge() {
+            T result;
+
+            try {
+                result = task.call();
+            } catch (Throwable t) {
+                finishHedge(t);
+                return;
+            }
+
+            if (winner.complete(result)) {
+                fire();
+            }
+
+            finishHedge(null);
+        }
+
+        void finishHedge(Throwable error) {
+            // once launching stopped, the last copy to finish settles the wait of a failed primary
+            if (inFlight.decrementAndGet() == 0 && !launching && error != null) {
+                winner.completeExceptionally(error);
+            }
+        }
+
+        void fire() {
+            if (state.compareAndSet(RUNNING, FIRING)) {
+                if (caller.isInterrupted()) {
+                    state.set(PREEMPTED);
+                } else {
+                    caller.interrupt();
+                    state.set(FIRED);
+                }
+            }
+        }
+
+        /**
+         * Waits for the interrupt of a fired race to land, then swallows it unless the caller was already interrupted.
+         */
+        void settle() {
+            while (state.get() == FIRING) {
+                Thread.onSpinWait();
+            }
+
+            if (state.get() == FIRED) {
+                Thread.interrupted();
+            }
+        }
+
+        T awaitHedges(Exception primaryError, long deadlineNanos, Clock clock) throws Exception {
+            launching = false;
+
+            if (inFlight.get() == 0) {
+                throw primaryError;
+            }
+
+            try {
+                return deadlineNanos == Long.MAX_VALUE
+                        ? winner.get()
+                        : winner.get(Math.max(0L, deadlineNanos - clock.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                throw primaryError;
+            }
+        }
+
+        void stop() {
+            launching = false;
+            stopped = true;
+
+            ScheduledFuture<?> pending = nextLaunch;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+
+            cancelHedges();
+        }
+
+        void cancelHedges() {
+            for (Future<?> hedge : hedges) {
+                hedge.cancel(true);
+            }
+        }
+    }
+}
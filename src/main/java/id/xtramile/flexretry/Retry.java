@@ -2,25 +2,31 @@ package id.xtramile.flexretry;
 
 import id.xtramile.flexretry.config.RetryConfig;
 import id.xtramile.flexretry.config.RetryTemplate;
+import id.xtramile.flexretry.control.breaker.CallNotPermittedException;
+import id.xtramile.flexretry.control.breaker.CircuitBreaker;
 import id.xtramile.flexretry.control.budget.RetryBudget;
 import id.xtramile.flexretry.control.bulkhead.Bulkhead;
 import id.xtramile.flexretry.control.cache.ResultCache;
+import id.xtramile.flexretry.control.dlq.DeadLetterSink;
 import id.xtramile.flexretry.control.health.HealthProbe;
 import id.xtramile.flexretry.control.sf.SingleFlight;
 import id.xtramile.flexretry.control.tuning.DynamicTuning;
 import id.xtramile.flexretry.control.tuning.MutableTuning;
 import id.xtramile.flexretry.control.tuning.RetrySwitch;
 import id.xtramile.flexretry.integrations.http.RetryAfterExtractor;
+import id.xtramile.flexretry.integrations.http.RetryAfterGate;
 import id.xtramile.flexretry.lifecycle.AttemptLifecycle;
 import id.xtramile.flexretry.observability.events.RetryEventBus;
 import id.xtramile.flexretry.observability.metrics.RetryMetrics;
 import id.xtramile.flexretry.observability.trace.TraceContext;
 import id.xtramile.flexretry.strategy.backoff.BackoffRouter;
 import id.xtramile.flexretry.strategy.backoff.BackoffStrategy;
+import id.xtramile.flexretry.strategy.hedge.HedgePolicy;
 import id.xtramile.flexretry.strategy.policy.*;
 import id.xtramile.flexretry.strategy.stop.FixedAttemptsStop;
 import id.xtramile.flexretry.strategy.stop.StopStrategy;
 import id.xtramile.flexretry.strategy.timeout.AttemptTimeoutStrategy;
+import id.xtramile.flexretry.strategy.timeout.TimeoutMode;
 import id.xtramile.flexretry.support.time.Clock;
 
 import java.time.Duration;
@@ -79,6 +85,13 @@ public final class Retry<T> {
         private Duration cacheTtl = null;
         private RetryEventBus<T> eventBus = null;
         private TraceContext trace = null;
+        private DeadLetterSink deadLetterSink = null;
+        private Function<RetryContext<?>, String> deadLetterKeyFn = null;
+        private HedgePolicy hedge = null;
+        private Duration minAttemptTime = null;
+        private TimeoutMode timeoutMode = TimeoutMode.EXECUTOR;
+        private CircuitBreaker circuitBreaker = null;
+        private RetryAfterGate retryAfterGate = null;
 
         // ---------- Task / fallback ----------
         private Callable<T> task;
@@ -114,7 +127,7 @@ public final class Retry<T> {
 
         public Builder<T> stop(StopStrategy stop) {
             this.stop = Objects.requireNonNull(stop);
-            return null;
+            return this;
         }
 
         public Builder<T> delayMillis(long millis) {
@@ -137,6 +150,25 @@ public final class Retry<T> {
             return this;
         }
 
+        public Builder<T> hedge(HedgePolicy policy) {
+            this.hedge = policy;
+            return this;
+        }
+
+        /**
+         * Caps each attempt's timeout by the time left before the stop strategy's deadline and
+         * skips attempts that would start with less than "minAttemptTime" left.
+         */
+        public Builder<T> minAttemptTime(Duration minAttemptTime) {
+            this.minAttemptTime = minAttemptTime;
+            return this;
+        }
+
+        public Builder<T> timeoutMode(TimeoutMode mode) {
+            this.timeoutMode = Objects.requireNonNull(mode, "mode");
+            return this;
+        }
+
         public Builder<T> attemptTimeout(Duration duration) {
             this.attemptTimeout = duration;
             return this;
@@ -210,6 +242,11 @@ public final class Retry<T> {
             return this;
         }
 
+        public Builder<T> onHedge(Consumer<RetryContext<T>> consumer) {
+            listeners.onHedge = consumer;
+            return this;
+        }
+
         public Builder<T> onRecover(Consumer<RetryContext<T>> consumer) {
             listeners.onRecover = consumer;
             return this;
@@ -225,7 +262,7 @@ public final class Retry<T> {
         }
 
         // Infra injection
-        Builder<T> sleeper(Sleeper sleeper) {
+        public Builder<T> sleeper(Sleeper sleeper) {
             this.sleeper = Objects.requireNonNull(sleeper, "sleeper");
             return this;
         }
@@ -250,6 +287,14 @@ public final class Retry<T> {
             return this;
         }
 
+        /**
+         * Shares extracted Retry-After hints with every execution using the same gate key.
+         */
+        public Builder<T> retryAfter(RetryAfterExtractor<T> retryAfterExtractor, RetryAfterGate gate) {
+            this.retryAfterGate = Objects.requireNonNull(gate, "gate");
+            return retryAfter(retryAfterExtractor);
+        }
+
         public Builder<T> globalSwitch(RetrySwitch retrySwitch) {
             this.retrySwitch = retrySwitch;
             return this;
@@ -297,6 +342,22 @@ public final class Retry<T> {
             return this;
         }
 
+        public Builder<T> deadLetter(DeadLetterSink sink, Function<RetryContext<?>, String> keyFn) {
+            this.deadLetterSink = sink;
+            this.deadLetterKeyFn = keyFn;
+            return this;
+        }
+
+        /**
+         * A run the open breaker rejects up front fails fast with the breaker's shared
+         * CallNotPermittedException (or returns the fallback) without notifying listeners;
+         * a breaker opening mid-run exhausts it with the last error.
+         */
+        public Builder<T> circuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
         // Health / dynamic tuning
         public Builder<T> healthProbe(HealthProbe healthProbe) {
             this.healthProbe = healthProbe;
@@ -336,7 +397,10 @@ public final class Retry<T> {
                     retrySwitch, tuning, bulkhead,
                     singleFlight, coalesceBy, lifecycle,
                     cache, cacheKeyFn, cacheTtl,
-                    eventBus, trace, attemptTimeouts
+                    eventBus, trace, attemptTimeouts,
+                    deadLetterSink, deadLetterKeyFn,
+                    hedge, minAttemptTime, timeoutMode,
+                    circuitBreaker, retryAfterGate
             );
         }
 
@@ -355,6 +419,8 @@ public final class Retry<T> {
                 return new RetryOutcome<>(true, result, null, 0);
             } catch (RetryException e) {
                 return new RetryOutcome<>(false, null, e.getCause(), e.attempts());
+            } catch (CallNotPermittedException e) {
+                return new RetryOutcome<>(false, null, e, 0);
             }
         }
 
@@ -392,7 +458,10 @@ public final class Retry<T> {
                     cache, cacheKeyFn, cacheTtl,
                     eventBus,
                     trace,
-                    attemptTimeouts
+                    attemptTimeouts,
+                    deadLetterSink, deadLetterKeyFn,
+                    hedge, minAttemptTime, timeoutMode,
+                    circuitBreaker, retryAfterGate
             );
         }
 
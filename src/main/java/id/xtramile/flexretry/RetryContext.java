@@ -8,6 +8,7 @@ import java.util.Map;
  * Immutable snapshot passed to callbacks.
  */
 public final class RetryContext<T> {
+    private final String name;
     private final String id;
     private final int attempt;
     private final int maxAttempts;
@@ -25,6 +26,20 @@ public final class RetryContext<T> {
             Duration nextDelay,
             Map<String, Object> tags
     ) {
+        this(null, id, attempt, maxAttempts, lastResult, lastError, nextDelay, tags);
+    }
+
+    public RetryContext(
+            String name,
+            String id,
+            int attempt,
+            int maxAttempts,
+            T lastResult,
+            Throwable lastError,
+            Duration nextDelay,
+            Map<String, Object> tags
+    ) {
+        this.name = name;
         this.id = id;
         this.attempt = attempt;
         this.maxAttempts = maxAttempts;
@@ -34,6 +49,13 @@ public final class RetryContext<T> {
         this.tags = tags == null ? Map.of() : Collections.unmodifiableMap(tags);
     }
 
+    /**
+     * Name of the retry that produced this snapshot; null when built without one.
+     */
+    public String name() {
+        return name;
+    }
+
     public String id() {
         return id;
     }
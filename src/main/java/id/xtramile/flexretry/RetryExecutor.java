@@ -1,33 +1,42 @@
 package id.xtramile.flexretry;
 
+import id.xtramile.flexretry.control.breaker.CallNotPermittedException;
+import id.xtramile.flexretry.control.breaker.CircuitBreaker;
 import id.xtramile.flexretry.control.budget.RetryBudget;
 import id.xtramile.flexretry.control.bulkhead.Bulkhead;
 import id.xtramile.flexretry.control.cache.ResultCache;
+import id.xtramile.flexretry.control.dlq.DeadLetter;
+import id.xtramile.flexretry.control.dlq.DeadLetterSink;
+import id.xtramile.flexretry.control.scope.RetryScope;
 import id.xtramile.flexretry.control.sf.SingleFlight;
 import id.xtramile.flexretry.control.tuning.MutableTuning;
 import id.xtramile.flexretry.control.tuning.RetrySwitch;
 import id.xtramile.flexretry.integrations.http.RetryAfterExtractor;
+import id.xtramile.flexretry.integrations.http.RetryAfterGate;
 import id.xtramile.flexretry.lifecycle.AttemptLifecycle;
 import id.xtramile.flexretry.observability.events.RetryEvent;
 import id.xtramile.flexretry.observability.events.RetryEventBus;
+import id.xtramile.flexretry.observability.jfr.*;
 import id.xtramile.flexretry.observability.metrics.RetryMetrics;
 import id.xtramile.flexretry.observability.trace.TraceContext;
 import id.xtramile.flexretry.strategy.backoff.BackoffRouter;
 import id.xtramile.flexretry.strategy.backoff.BackoffStrategy;
+import id.xtramile.flexretry.strategy.hedge.HedgePolicy;
 import id.xtramile.flexretry.strategy.policy.RetryPolicy;
 import id.xtramile.flexretry.strategy.stop.CompositeStop;
 import id.xtramile.flexretry.strategy.stop.FixedAttemptsStop;
 import id.xtramile.flexretry.strategy.stop.MaxElapsedStop;
 import id.xtramile.flexretry.strategy.stop.StopStrategy;
 import id.xtramile.flexretry.strategy.timeout.AttemptTimeoutStrategy;
+import id.xtramile.flexretry.strategy.timeout.TimeoutMode;
 import id.xtramile.flexretry.support.time.Clock;
 
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.BiConsumer;
-import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 
 /**
  * Runs the attempt loop using a policy + backoff + listeners
@@ -76,7 +85,13 @@ public final class RetryExecutor<T> {
     private final Duration cacheTtl;
     private final RetryEventBus<T> eventBus;
     private final TraceContext trace;
-
+    private final DeadLetterSink deadLetterSink;
+    private final Function<RetryContext<?>, String> deadLetterKeyFn;
+    private final HedgePolicy hedge;
+    private final Duration minAttemptTime;
+    private final TimeoutMode timeoutMode;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryAfterGate retryAfterGate;
 
     public RetryExecutor(
             // identity
@@ -101,7 +116,11 @@ public final class RetryExecutor<T> {
             ResultCache<String, T> cache, Function<RetryContext<?>, String> cacheKeyFn, Duration cacheTtl,
             RetryEventBus<T> eventBus,
             TraceContext trace,
-            AttemptTimeoutStrategy attemptTimeouts
+            AttemptTimeoutStrategy attemptTimeouts,
+            DeadLetterSink deadLetterSink, Function<RetryContext<?>, String> deadLetterKeyFn,
+            HedgePolicy hedge, Duration minAttemptTime, TimeoutMode timeoutMode,
+            CircuitBreaker circuitBreaker,
+            RetryAfterGate retryAfterGate
     ) {
         // identity
         this.name = Objects.requireNonNull(name, "name");
@@ -145,6 +164,13 @@ public final class RetryExecutor<T> {
         this.cacheTtl = cacheTtl;
         this.eventBus = eventBus;
         this.trace = trace;
+        this.deadLetterSink = deadLetterSink;
+        this.deadLetterKeyFn = deadLetterKeyFn;
+        this.hedge = hedge;
+        this.minAttemptTime = minAttemptTime; // may be null
+        this.timeoutMode = Objects.requireNonNullElse(timeoutMode, TimeoutMode.EXECUTOR);
+        this.circuitBreaker = circuitBreaker; // may be null
+        this.retryAfterGate = retryAfterGate; // may be null
     }
 
     private static Throwable unwrap(Throwable throwable) {
@@ -184,43 +210,113 @@ public final class RetryExecutor<T> {
     }
 
     public T run() {
+        CircuitBreaker.Permit permit = circuitBreaker == null ? null : circuitBreaker.tryAcquire();
+
+        if (circuitBreaker != null && permit == null) {
+            // Fail fast before any per-run state exists: no context, stop or exception is allocated
+            return rejectedByBreaker();
+        }
+
         T lastResult = null;
         Throwable lastError = null;
         int finalAttempt = 0;
+        long lastLatencyNanos = 0L;
 
         long startNanos = clock.nanoTime();
 
+        final boolean scoped = RetryScope.isEnabled();
+        final RetryScope outer = scoped ? RetryScope.current() : null;
+        final int scopeMaxAttempts = scoped ? RetryScope.maxAttemptsWithin(outer) : Integer.MAX_VALUE;
+
         try {
             for (int attempt = 1; ; attempt++) {
+                // The first attempt's permit was taken on entry
+                if (attempt > 1 && circuitBreaker != null && (permit = circuitBreaker.tryAcquire()) == null) {
+                    return handleExhausted("Circuit breaker open at attempt " + attempt, lastResult, lastError, attempt - 1, lastLatencyNanos);
+                }
+
+                // Tuning and the switch may change between attempts, but not within one
+                final StopStrategy effectiveStop = effectiveStop(stop);
                 final Duration nextDelay = computeNextDelay(attempt, lastError);
                 final RetryContext<T> ctxBefore = buildContext(attempt, lastResult, lastError, nextDelay);
 
-                if (shouldStopBeforeAttempt(attempt, startNanos, nextDelay)) {
-                    return handleExhausted("Retry exhausted at attempt " + (attempt - 1), lastResult, lastError, attempt - 1);
+                if (shouldStopBeforeAttempt(effectiveStop, attempt, startNanos, nextDelay)) {
+                    releaseBreakerPermit(permit);
+                    return handleExhausted("Retry exhausted at attempt " + (attempt - 1), lastResult, lastError, attempt - 1, lastLatencyNanos);
+                }
+
+                if (attempt > scopeMaxAttempts) {
+                    releaseBreakerPermit(permit);
+                    return handleExhausted("Retry exhausted at attempt " + (attempt - 1) + " (nested retry limit)", lastResult, lastError, attempt - 1, lastLatencyNanos);
+                }
+
+                if (retryAfterGate != null) {
+                    String gateKey = retryAfterGate.keyOf(ctxBefore);
+
+                    // Re-check after every wait: another execution may have pushed the deadline out,
+                    // and a sleeper (e.g. a recovery-aware one) may return early
+                    for (long gateNanos = retryAfterGate.remainingNanos(gateKey); gateNanos > 0L; gateNanos = retryAfterGate.remainingNanos(gateKey)) {
+                        long untilDeadline = Math.min(effectiveStop.remainingNanos(startNanos, clock.nanoTime()),
+                                outer == null ? Long.MAX_VALUE : outer.remainingNanos());
+
+                        if (gateNanos >= untilDeadline) {
+                            releaseBreakerPermit(permit);
+                            String reason = "Retry-After gate closed past the deadline at attempt " + attempt;
+                            return handleExhausted(reason, lastResult, causeOr(lastError, reason), attempt - 1, lastLatencyNanos);
+                        }
+
+                        try {
+                            sleeper.sleep(Duration.ofNanos(gateNanos));
+                        } catch (InterruptedException ie) {
+                            releaseBreakerPermit(permit);
+                            throw ie;
+                        }
+                    }
+                }
+
+                long inheritedNanos = outer == null ? Long.MAX_VALUE : outer.remainingNanos();
+                long remainingNanos = Math.min(effectiveStop.remainingNanos(startNanos, clock.nanoTime()), inheritedNanos);
+
+                if (inheritedNanos <= 0L || (minAttemptTime != null && remainingNanos < minAttemptTime.toNanos())) {
+                    releaseBreakerPermit(permit);
+                    String reason = "Retry deadline too close for attempt " + attempt;
+                    return handleExhausted(reason, lastResult, causeOr(lastError, reason), attempt - 1, lastLatencyNanos);
                 }
 
                 announceAttempt(ctxBefore, attempt);
 
-                if (!acquireBulkheadIfAny(attempt, lastResult, lastError)) {
-                    return handleExhausted("Bulkhead full; cannot acquire", lastResult, lastError, Math.max(1, attempt - 1));
+                if (!acquireBulkheadIfAny(attempt, lastResult, lastError, lastLatencyNanos)) {
+                    releaseBreakerPermit(permit);
+                    return handleExhausted("Bulkhead full; cannot acquire", lastResult, lastError, Math.max(1, attempt - 1), lastLatencyNanos);
                 }
 
                 enterTraceAndLifecycle(ctxBefore);
 
                 T cached = tryHitCache(ctxBefore, attempt);
                 if (cached != null) {
+                    releaseBreakerPermit(permit);
                     return cached;
                 }
 
+                AttemptEvent attemptEvent = new AttemptEvent();
+                attemptEvent.begin();
+                long attemptStart = clock.nanoTime();
+
                 try {
-                    T result = executeWithSingleFlight(attempt, ctxBefore);
+                    T result = executeWithSingleFlight(attempt, ctxBefore, remainingNanos, scoped ? RetryScope.nested(outer, remainingNanos) : null);
+                    lastLatencyNanos = clock.nanoTime() - attemptStart;
+                    recordAttemptLatency(lastLatencyNanos);
+                    if (circuitBreaker != null) {
+                        circuitBreaker.onSuccess(permit, lastLatencyNanos);
+                    }
+                    attemptEvent.complete(name, attempt, null);
                     lastResult = result;
                     lastError = null;
 
                     afterAttemptSuccess(ctxBefore, result);
 
                     if (policy.shouldRetry(result, null, attempt, Integer.MAX_VALUE)) {
-                        T budgetResult = tryAcquireBudgetOrFail(attempt, result, null);
+                        T budgetResult = tryAcquireBudgetOrFail(attempt, result, null, lastLatencyNanos);
                         if (budgetResult != null) {
                             return budgetResult;
                         }
@@ -230,14 +326,19 @@ public final class RetryExecutor<T> {
                     }
 
                     finalAttempt = attempt;
-                    return finalizeSuccess(attempt, result);
+                    return finalizeSuccess(attempt, result, lastLatencyNanos);
 
                 } catch (Throwable e) {
+                    lastLatencyNanos = clock.nanoTime() - attemptStart;
                     lastError = unwrap(e);
+                    attemptEvent.complete(name, attempt, lastError);
+                    if (circuitBreaker != null) {
+                        circuitBreaker.onError(permit, lastError, lastLatencyNanos);
+                    }
                     afterAttemptFailure(ctxBefore, lastError);
 
                     if (policy.shouldRetry(null, lastError, attempt, Integer.MAX_VALUE)) {
-                        T budgetResult = tryAcquireBudgetOrFail(attempt, lastResult, lastError);
+                        T budgetResult = tryAcquireBudgetOrFail(attempt, lastResult, lastError, lastLatencyNanos);
                         if (budgetResult != null) {
                             return budgetResult;
                         }
@@ -247,7 +348,7 @@ public final class RetryExecutor<T> {
                     }
 
                     finalAttempt = attempt;
-                    return finalizeFailure(attempt, lastResult, lastError);
+                    return finalizeFailure(attempt, lastResult, lastError, lastLatencyNanos);
 
                 } finally {
                     exitTrace();
@@ -259,58 +360,68 @@ public final class RetryExecutor<T> {
             Thread.currentThread().interrupt();
 
             int att = finalAttempt == 0 ? 1 : finalAttempt;
-            return handleInterrupted(att, ie);
+            return handleInterrupted(att, ie, lastLatencyNanos);
 
         } finally {
             int att = finalAttempt == 0 ? 1 : finalAttempt;
-            safeRun(() -> listeners.onFinally.accept(new RetryContext<>(id, att, att, null, null, Duration.ZERO, tags)));
+            safeRun(() -> listeners.onFinally.accept(new RetryContext<>(name, id, att, att, null, null, Duration.ZERO, tags)));
         }
     }
 
     private Duration computeNextDelay(int attempt, Throwable lastError) {
+        return nextDelay(backoff, backoffRouter, tuning, attempt, lastError);
+    }
+
+    /**
+     * Delay after "attempt": routed by error when a router is set, else the tuned or configured backoff.
+     */
+    static Duration nextDelay(BackoffStrategy backoff, BackoffRouter backoffRouter, MutableTuning tuning, int attempt, Throwable lastError) {
         if (lastError != null && backoffRouter != null) {
             return backoffRouter.select(lastError).delayForAttempt(attempt);
         }
 
-        return backoff.delayForAttempt(attempt);
+        BackoffStrategy tuned = tuning != null ? tuning.backoff() : null;
+        return (tuned != null ? tuned : backoff).delayForAttempt(attempt);
     }
 
     private RetryContext<T> buildContext(int attempt, T lastResult, Throwable lastError, Duration nextDelay) {
-        return new RetryContext<>(id, attempt, Integer.MAX_VALUE, lastResult, lastError, nextDelay, tags);
+        return new RetryContext<>(name, id, attempt, Integer.MAX_VALUE, lastResult, lastError, nextDelay, tags);
     }
 
-    private boolean shouldStopBeforeAttempt(int attempt, long startNanos, Duration nextDelay) {
+    private boolean shouldStopBeforeAttempt(StopStrategy effectiveStop, int attempt, long startNanos, Duration nextDelay) {
         if (attempt <= 1) {
             return false;
         }
 
         long now = clock.nanoTime();
-        return effectiveStop(stop).shouldStop(attempt, startNanos, now, nextDelay);
+        return effectiveStop.shouldStop(attempt, startNanos, now, nextDelay);
     }
 
     private void announceAttempt(RetryContext<T> ctxBefore, int attempt) {
         safeRun(() -> listeners.onAttempt.accept(ctxBefore));
         metrics.attemptStarted(name, attempt);
 
-        if (eventBus != null) {
+        if (eventBus != null && eventBus.wants(RetryEvent.Type.ATTEMPT_STARTED, attempt)) {
             safeRun(() -> eventBus.publish(new RetryEvent.AttemptStarted<>(ctxBefore)));
         }
     }
 
-    private boolean acquireBulkheadIfAny(int attempt, T lastResult, Throwable lastError) {
+    private boolean acquireBulkheadIfAny(int attempt, T lastResult, Throwable lastError, long latencyNanos) {
         if (bulkhead == null) {
             return true;
         }
 
         boolean ok = bulkhead.tryAcquire();
         if (!ok) {
+            BulkheadRejectedEvent.emit(name, attempt);
+
             int failedAttempt = Math.max(1, attempt - 1);
-            RetryContext<T> ctxFail = new RetryContext<>(id, failedAttempt, failedAttempt, lastResult, lastError, Duration.ZERO, tags);
+            RetryContext<T> ctxFail = new RetryContext<>(name, id, failedAttempt, failedAttempt, lastResult, lastError, Duration.ZERO, tags);
             safeRun(() -> listeners.onFailure.accept(lastError, ctxFail));
             metrics.exhausted(name, failedAttempt, lastError);
 
-            if (eventBus != null) {
-                safeRun(() -> eventBus.publish(new RetryEvent.Exhausted<>(ctxFail, lastError)));
+            if (eventBus != null && eventBus.wants(RetryEvent.Type.EXHAUSTED, failedAttempt)) {
+                safeRun(() -> eventBus.publish(new RetryEvent.Exhausted<>(ctxFail, lastError, latencyNanos)));
             }
         }
 
@@ -358,9 +469,11 @@ public final class RetryExecutor<T> {
         try {
             Optional<T> opt = cache.get(key);
             if (opt.isPresent()) {
+                CacheHitEvent.emit(name, attempt);
+
                 T result = opt.get();
                 safeRun(() -> listeners.afterAttemptSuccess.accept(result, ctxBefore));
-                return handleSuccess(attempt, result);
+                return handleSuccess(attempt, result, 0L);
             }
         } catch (Throwable ignore) {
         }
@@ -368,16 +481,55 @@ public final class RetryExecutor<T> {
         return null;
     }
 
-    private T executeWithSingleFlight(int attempt, RetryContext<T> ctxBefore) throws Exception {
+    private T executeWithSingleFlight(int attempt, RetryContext<T> ctxBefore, long remainingNanos, RetryScope scope) throws Exception {
         if (coalesceBy != null && singleFlight != null) {
             String key = nullSafe(() -> coalesceBy.apply(ctxBefore));
 
             if (key != null) {
-                return singleFlight.execute(key, () -> executeAttempt(attempt));
+                boolean[] ran = new boolean[1];
+                T result = singleFlight.execute(key, () -> {
+                    ran[0] = true;
+                    return executeAttempt(attempt, ctxBefore, remainingNanos, scope);
+                });
+
+                if (!ran[0]) {
+                    CoalescedEvent.emit(name, attempt);
+                }
+
+                return result;
             }
         }
 
-        return executeAttempt(attempt);
+        return executeAttempt(attempt, ctxBefore, remainingNanos, scope);
+    }
+
+    /**
+     * The last attempt's error, or a timeout describing why the run ended before making any call.
+     */
+    private static Throwable causeOr(Throwable lastError, String reason) {
+        return lastError != null ? lastError : new TimeoutException(reason);
+    }
+
+    private T rejectedByBreaker() {
+        CallNotPermittedException rejected = circuitBreaker.notPermitted();
+
+        if (fallback != null) {
+            return fallback.apply(rejected);
+        }
+
+        throw rejected;
+    }
+
+    private void releaseBreakerPermit(CircuitBreaker.Permit permit) {
+        if (circuitBreaker != null) {
+            circuitBreaker.release(permit);
+        }
+    }
+
+    private void recordAttemptLatency(long latencyNanos) {
+        if (attemptTimeouts != null) {
+            safeRun(() -> attemptTimeouts.recordSuccess(name, latencyNanos));
+        }
     }
 
     private void afterAttemptSuccess(RetryContext<T> ctxBefore, T result) {
@@ -392,14 +544,16 @@ public final class RetryExecutor<T> {
         }
     }
 
-    private T tryAcquireBudgetOrFail(int attempt, T lastResult, Throwable lastError) {
+    private T tryAcquireBudgetOrFail(int attempt, T lastResult, Throwable lastError, long latencyNanos) {
         if (budget.tryAcquire()) {
             return null; // Budget acquired, continue retry
         }
 
-        return handleFailureWithFallback(attempt, lastResult, lastError,
+        BudgetDeniedEvent.emit(name, attempt);
+
+        return handleFailureWithFallback(attempt, lastResult, lastError, latencyNanos,
                 (ctx, err) -> metrics.exhausted(name, attempt, err),
-                RetryEvent.Exhausted::new,
+                RetryEvent.Type.EXHAUSTED, RetryEvent.Exhausted::new,
                 "Retry denied by budget at attempt " + attempt);
     }
 
@@ -413,20 +567,31 @@ public final class RetryExecutor<T> {
 
             if (hint != null) {
                 adjusted = hint;
+
+                if (retryAfterGate != null) {
+                    String key = retryAfterGate.keyOf(ctx);
+
+                    if (key != null) {
+                        retryAfterGate.block(key, hint);
+                    }
+                }
             }
         }
 
         Duration finalDelay = adjusted;
         adjusted = nullSafe(() -> listeners.beforeSleep.apply(finalDelay, ctx), finalDelay);
 
+        BackoffSleepEvent sleepEvent = new BackoffSleepEvent();
+        sleepEvent.begin();
         sleeper.sleep(adjusted);
+        sleepEvent.complete(name, ctx.attempt(), adjusted.toMillis());
     }
 
-    private T finalizeSuccess(int attempt, T result) {
-        T finalResult = handleSuccess(attempt, result);
+    private T finalizeSuccess(int attempt, T result, long latencyNanos) {
+        T finalResult = handleSuccess(attempt, result, latencyNanos);
 
         if (cache != null && cacheKeyFn != null && cacheTtl != null) {
-            RetryContext<T> ctxSuccess = new RetryContext<>(id, attempt, attempt, result, null, Duration.ZERO, tags);
+            RetryContext<T> ctxSuccess = new RetryContext<>(name, id, attempt, attempt, result, null, Duration.ZERO, tags);
             String key = nullSafe(() -> cacheKeyFn.apply(ctxSuccess));
 
             try {
@@ -438,13 +603,13 @@ public final class RetryExecutor<T> {
         return finalResult;
     }
 
-    private T handleSuccess(int attempt, T result) {
-        RetryContext<T> ctxSuccess = new RetryContext<>(id, attempt, attempt, result, null, Duration.ZERO, tags);
+    private T handleSuccess(int attempt, T result, long latencyNanos) {
+        RetryContext<T> ctxSuccess = new RetryContext<>(name, id, attempt, attempt, result, null, Duration.ZERO, tags);
         safeRun(() -> listeners.onSuccess.accept(result, ctxSuccess));
         metrics.attemptSucceeded(name, attempt);
 
-        if (eventBus != null) {
-            safeRun(() -> eventBus.publish(new RetryEvent.AttemptSucceeded<>(ctxSuccess, result)));
+        if (eventBus != null && eventBus.wants(RetryEvent.Type.ATTEMPT_SUCCEEDED, attempt)) {
+            safeRun(() -> eventBus.publish(new RetryEvent.AttemptSucceeded<>(ctxSuccess, result, latencyNanos)));
         }
 
         if (lifecycle != null) {
@@ -454,37 +619,38 @@ public final class RetryExecutor<T> {
         return result;
     }
 
-    private T finalizeFailure(int attempt, T lastResult, Throwable lastError) {
-        return handleFailureWithFallback(attempt, lastResult, lastError,
+    private T finalizeFailure(int attempt, T lastResult, Throwable lastError, long latencyNanos) {
+        return handleFailureWithFallback(attempt, lastResult, lastError, latencyNanos,
                 (ctx, err) -> metrics.attemptFailed(name, attempt, err),
-                RetryEvent.AttemptFailed::new,
+                RetryEvent.Type.ATTEMPT_FAILED, RetryEvent.AttemptFailed::new,
                 "Retry failed after " + attempt + " attempt(s)");
     }
 
-    private T handleExhausted(String message, T lastResult, Throwable lastError, int attempts) {
-        return handleFailureWithFallback(attempts, lastResult, lastError,
+    private T handleExhausted(String message, T lastResult, Throwable lastError, int attempts, long latencyNanos) {
+        return handleFailureWithFallback(attempts, lastResult, lastError, latencyNanos,
                 (ctx, err) -> metrics.exhausted(name, attempts, err),
-                RetryEvent.Exhausted::new,
+                RetryEvent.Type.EXHAUSTED, RetryEvent.Exhausted::new,
                 message);
     }
 
-    private T handleInterrupted(int attempt, InterruptedException ie) {
-        return handleFailureWithFallback(attempt, null, ie,
+    private T handleInterrupted(int attempt, InterruptedException ie, long latencyNanos) {
+        return handleFailureWithFallback(attempt, null, ie, latencyNanos,
                 (ctx, err) -> metrics.attemptFailed(name, attempt, err),
-                RetryEvent.AttemptFailed::new,
+                RetryEvent.Type.ATTEMPT_FAILED, RetryEvent.AttemptFailed::new,
                 "Interrupted during retry");
     }
 
-    private T handleFailureWithFallback(int attempt, T lastResult, Throwable lastError,
+    private T handleFailureWithFallback(int attempt, T lastResult, Throwable lastError, long latencyNanos,
                                         BiConsumer<RetryContext<T>, Throwable> metricsFn,
-                                        BiFunction<RetryContext<T>, Throwable, RetryEvent<T>> eventFn,
+                                        RetryEvent.Type eventType,
+                                        FailureEventFactory<T> eventFn,
                                         String errorMessage) {
-        RetryContext<T> ctxFail = new RetryContext<>(id, attempt, attempt, lastResult, lastError, Duration.ZERO, tags);
+        RetryContext<T> ctxFail = new RetryContext<>(name, id, attempt, attempt, lastResult, lastError, Duration.ZERO, tags);
         safeRun(() -> listeners.onFailure.accept(lastError, ctxFail));
         safeRun(() -> metricsFn.accept(ctxFail, lastError));
 
-        if (eventBus != null) {
-            RetryEvent<T> event = eventFn.apply(ctxFail, lastError);
+        if (eventBus != null && eventBus.wants(eventType, attempt)) {
+            RetryEvent<T> event = eventFn.create(ctxFail, lastError, latencyNanos);
             safeRun(() -> eventBus.publish(event));
         }
 
@@ -493,10 +659,34 @@ public final class RetryExecutor<T> {
             return fallback.apply(lastError);
         }
 
+        // An interrupted run was cancelled (e.g. on shutdown), not failed by the downstream
+        if (deadLetterSink != null && !(lastError instanceof InterruptedException) && !Thread.currentThread().isInterrupted()) {
+            safeRun(() -> deadLetterSink.accept(toDeadLetter(ctxFail, lastError)));
+        }
+
         throw new RetryException(errorMessage, lastError, attempt);
     }
 
+    private DeadLetter toDeadLetter(RetryContext<T> ctx, Throwable lastError) {
+        String key = deadLetterKeyFn == null ? id : nullSafe(() -> deadLetterKeyFn.apply(ctx), id);
+
+        Map<String, String> tagValues = new HashMap<>();
+        tags.forEach((k, v) -> tagValues.put(k, String.valueOf(v)));
+
+        return new DeadLetter(key, name, ctx.attempt(),
+                lastError == null ? null : lastError.getClass().getName(),
+                lastError == null ? null : lastError.getMessage(),
+                tagValues, System.currentTimeMillis());
+    }
+
     private StopStrategy effectiveStop(StopStrategy base) {
+        return effectiveStop(base, tuning, retrySwitch);
+    }
+
+    /**
+     * Stop in force for "base": live tuning replaces it, and the retry switch stops retries while off.
+     */
+    public static StopStrategy effectiveStop(StopStrategy base, MutableTuning tuning, RetrySwitch retrySwitch) {
         StopStrategy stop = base;
 
         if (tuning != null) {
@@ -518,26 +708,171 @@ public final class RetryExecutor<T> {
         return stop;
     }
 
-    private T executeAttempt(int attemptIdx) throws Exception {
-        Duration perAttempt = attemptTimeouts != null ? attemptTimeouts.timeoutForAttempt(attemptIdx) : attemptTimeout;
+    private T executeAttempt(int attemptIdx, RetryContext<T> ctx, long remainingNanos, RetryScope scope) throws Exception {
+        Duration configured = attemptTimeouts != null ? attemptTimeouts.timeoutFor(name, attemptIdx) : attemptTimeout;
+        Duration perAttempt = capToDeadline(configured, remainingNanos, scope != null && scope.hasDeadline());
+        Callable<T> task = scope == null ? this.task : scope.bind(this.task);
+
+        try {
+            return executeWithin(attemptIdx, ctx, perAttempt, task);
+        } catch (TimeoutException te) {
+            // Only a full configured timeout says the attempt was slower than it; a deadline cut does not
+            if (attemptTimeouts != null && perAttempt != null && perAttempt == configured) {
+                safeRun(() -> attemptTimeouts.recordTimeout(name, perAttempt.toNanos()));
+            }
+
+            throw te;
+        }
+    }
+
+    private T executeWithin(int attemptIdx, RetryContext<T> ctx, Duration perAttempt, Callable<T> task) throws Exception {
+        if (hedge != null) {
+            return executeHedged(attemptIdx, ctx, perAttempt, task);
+        }
 
         if (perAttempt == null) {
             return task.call();
         }
 
+        if (timeoutMode == TimeoutMode.CALLER_THREAD) {
+            return AttemptWatchdog.call(task, perAttempt.toNanos());
+        }
+
         ExecutorService exec = attemptExecutor != null ? attemptExecutor : ForkJoinPool.commonPool();
         Future<T> future = exec.submit(task);
 
         try {
-            return future.get(perAttempt.toMillis(), TimeUnit.MILLISECONDS);
+            return future.get(perAttempt.toNanos(), TimeUnit.NANOSECONDS);
         } catch (TimeoutException te) {
             future.cancel(true);
             throw te;
         }
     }
 
+    /**
+     * Configured timeout, shortened to the remaining deadline; without a configured timeout the
+     * deadline only bounds the attempt when minAttemptTime is set or a retry scope carries it.
+     */
+    private Duration capToDeadline(Duration configured, long remainingNanos, boolean scopedDeadline) {
+        if (remainingNanos == Long.MAX_VALUE || (configured == null && minAttemptTime == null && !scopedDeadline)) {
+            return configured;
+        }
+
+        Duration remaining = Duration.ofNanos(Math.max(0L, remainingNanos));
+        return configured == null || remaining.compareTo(configured) < 0 ? remaining : configured;
+    }
+
+    private T executeHedged(int attemptIdx, RetryContext<T> ctx, Duration perAttempt, Callable<T> task) throws Exception {
+        ExecutorService exec = attemptExecutor != null ? attemptExecutor : ForkJoinPool.commonPool();
+        int maxHedges = hedge.maxHedges();
+        long hedgeDelay = Math.max(0L, hedge.hedgeDelay().toNanos());
+
+        IntPredicate mayHedge = hedgeNo -> {
+            if (!budget.tryAcquire()) {
+                BudgetDeniedEvent.emit(name, attemptIdx);
+                return false;
+            }
+
+            HedgeLaunchedEvent.emit(name, attemptIdx, hedgeNo);
+            safeRun(() -> listeners.onHedge.accept(ctx));
+            return true;
+        };
+
+        if (timeoutMode == TimeoutMode.CALLER_THREAD) {
+            return AttemptWatchdog.hedged(task, perAttempt == null ? Long.MAX_VALUE : perAttempt.toNanos(),
+                    hedgeDelay, maxHedges, exec, mayHedge, clock, hedge::recordLatency);
+        }
+
+        CompletionService<T> completion = new ExecutorCompletionService<>(exec);
+        List<Future<T>> launched = new ArrayList<>(1 + maxHedges);
+
+        long start = clock.nanoTime();
+        long deadline = perAttempt == null ? Long.MAX_VALUE : start + perAttempt.toNanos();
+        long nextHedgeAt = start + hedgeDelay;
+        int hedges = 0;
+        int failed = 0;
+        // The policy learns from the primary copy only: winners alone would bias the delay low
+        boolean primaryRunning = true;
+
+        launched.add(completion.submit(task));
+
+        try {
+            while (true) {
+                boolean canHedge = hedges < maxHedges;
+                long waitUntil = canHedge ? Math.min(nextHedgeAt, deadline) : deadline;
+                Future<T> done = waitUntil == Long.MAX_VALUE
+                        ? completion.take()
+                        : completion.poll(waitUntil - clock.nanoTime(), TimeUnit.NANOSECONDS);
+
+                if (done != null) {
+                    boolean primary = done == launched.get(0);
+
+                    try {
+                        T result = done.get();
+
+                        if (primaryRunning) {
+                            // a winning hedge cuts the primary short: its elapsed time is a lower bound
+                            hedge.recordLatency(clock.nanoTime() - start);
+                        }
+
+                        return result;
+                    } catch (ExecutionException ee) {
+                        if (primary) {
+                            primaryRunning = false;
+                        }
+
+                        // keep waiting while another copy is still running
+                        if (++failed == launched.size()) {
+                            Throwable cause = ee.getCause() != null ? ee.getCause() : ee;
+
+                            if (cause instanceof Exception) {
+                                throw (Exception) cause;
+                            } else if (cause instanceof Error) {
+                                throw (Error) cause;
+                            }
+
+                            throw ee;
+                        }
+
+                        continue;
+                    }
+                }
+
+                long now = clock.nanoTime();
+
+                if (now >= deadline) {
+                    if (primaryRunning) {
+                        hedge.recordLatency(now - start);
+                    }
+
+                    throw new TimeoutException();
+                }
+
+                if (canHedge && now >= nextHedgeAt) {
+                    if (!mayHedge.test(hedges + 1)) {
+                        hedges = maxHedges;
+                        continue;
+                    }
+
+                    hedges++;
+                    launched.add(completion.submit(task));
+                    nextHedgeAt = now + hedgeDelay;
+                }
+            }
+        } finally {
+            for (Future<T> future : launched) {
+                future.cancel(true);
+            }
+        }
+    }
+
     @FunctionalInterface
     private interface SupplierWithException<R> {
         R get() throws Exception;
     }
+
+    @FunctionalInterface
+    private interface FailureEventFactory<T> {
+        RetryEvent<T> create(RetryContext<T> ctx, Throwable error, long latencyNanos);
+    }
 }
@@ -28,9 +28,29 @@ public final class RetryListeners<T> {
     public Consumer<RetryContext<T>> onRecover = ctx -> {
     };
 
+    public Consumer<RetryContext<T>> onHedge = ctx -> {
+    };
+
     public RetryListeners() {
     }
 
+    /**
+     * Shallow copy, e.g. to override one callback for a single run.
+     */
+    public RetryListeners<T> copy() {
+        RetryListeners<T> copy = new RetryListeners<>();
+        copy.onAttempt = onAttempt;
+        copy.onSuccess = onSuccess;
+        copy.onFailure = onFailure;
+        copy.onFinally = onFinally;
+        copy.beforeSleep = beforeSleep;
+        copy.afterAttemptSuccess = afterAttemptSuccess;
+        copy.afterAttemptFailure = afterAttemptFailure;
+        copy.onRecover = onRecover;
+        copy.onHedge = onHedge;
+        return copy;
+    }
+
     public RetryListeners<T> onAttempt(Consumer<RetryContext<T>> onAttempt) {
         this.onAttempt = onAttempt;
         return this;
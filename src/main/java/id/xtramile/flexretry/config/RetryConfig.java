@@ -4,25 +4,34 @@ import id.xtramile.flexretry.RetryContext;
 import id.xtramile.flexretry.RetryExecutor;
 import id.xtramile.flexretry.RetryListeners;
 import id.xtramile.flexretry.Sleeper;
+import id.xtramile.flexretry.control.batch.BatchCall;
+import id.xtramile.flexretry.control.batch.BatchResult;
+import id.xtramile.flexretry.control.batch.BatchRetryExecutor;
+import id.xtramile.flexretry.control.breaker.CircuitBreaker;
 import id.xtramile.flexretry.control.budget.RetryBudget;
 import id.xtramile.flexretry.control.bulkhead.Bulkhead;
 import id.xtramile.flexretry.control.cache.ResultCache;
+import id.xtramile.flexretry.control.dlq.DeadLetterSink;
 import id.xtramile.flexretry.control.sf.SingleFlight;
 import id.xtramile.flexretry.control.tuning.MutableTuning;
 import id.xtramile.flexretry.control.tuning.RetrySwitch;
 import id.xtramile.flexretry.integrations.http.RetryAfterExtractor;
+import id.xtramile.flexretry.integrations.http.RetryAfterGate;
 import id.xtramile.flexretry.lifecycle.AttemptLifecycle;
 import id.xtramile.flexretry.observability.events.RetryEventBus;
 import id.xtramile.flexretry.observability.metrics.RetryMetrics;
 import id.xtramile.flexretry.observability.trace.TraceContext;
 import id.xtramile.flexretry.strategy.backoff.BackoffRouter;
 import id.xtramile.flexretry.strategy.backoff.BackoffStrategy;
+import id.xtramile.flexretry.strategy.hedge.HedgePolicy;
 import id.xtramile.flexretry.strategy.policy.RetryPolicy;
 import id.xtramile.flexretry.strategy.stop.StopStrategy;
 import id.xtramile.flexretry.strategy.timeout.AttemptTimeoutStrategy;
+import id.xtramile.flexretry.strategy.timeout.TimeoutMode;
 import id.xtramile.flexretry.support.time.Clock;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
@@ -67,6 +76,13 @@ public final class RetryConfig<T> {
     public final Duration cacheTtl;
     public final RetryEventBus<T> eventBus;
     public final TraceContext trace;
+    public final DeadLetterSink deadLetterSink;
+    public final Function<RetryContext<?>, String> deadLetterKeyFn;
+    public final HedgePolicy hedge;
+    public final Duration minAttemptTime;
+    public final TimeoutMode timeoutMode;
+    public final CircuitBreaker circuitBreaker;
+    public final RetryAfterGate retryAfterGate;
 
     // ---- Fallback ----
     public final Function<Throwable, T> fallback;
@@ -95,7 +111,11 @@ public final class RetryConfig<T> {
             ResultCache<String, T> cache, Function<RetryContext<?>, String> cacheKeyFn, Duration cacheTtl,
             RetryEventBus<T> eventBus,
             TraceContext trace,
-            AttemptTimeoutStrategy attemptTimeouts
+            AttemptTimeoutStrategy attemptTimeouts,
+            DeadLetterSink deadLetterSink, Function<RetryContext<?>, String> deadLetterKeyFn,
+            HedgePolicy hedge, Duration minAttemptTime, TimeoutMode timeoutMode,
+            CircuitBreaker circuitBreaker,
+            RetryAfterGate retryAfterGate
     ) {
         // identity
         this.name = Objects.requireNonNull(name, "name");
@@ -138,6 +158,82 @@ public final class RetryConfig<T> {
         this.eventBus = eventBus;
         this.trace = trace;
         this.attemptTimeouts = attemptTimeouts;
+        this.deadLetterSink = deadLetterSink;
+        this.deadLetterKeyFn = deadLetterKeyFn;
+        this.hedge = hedge;
+        this.minAttemptTime = minAttemptTime;
+        this.timeoutMode = Objects.requireNonNullElse(timeoutMode, TimeoutMode.EXECUTOR);
+        this.circuitBreaker = circuitBreaker;
+        this.retryAfterGate = retryAfterGate;
+    }
+
+    /**
+     * Copy of this config with another stop strategy; every other component is shared.
+     */
+    public RetryConfig<T> withStop(StopStrategy stop) {
+        return copy(stop, backoff, policy, listeners, retrySwitch, tuning, deadLetterSink);
+    }
+
+    /**
+     * Copy of this config with another retry policy; every other component is shared.
+     */
+    public RetryConfig<T> withPolicy(RetryPolicy<T> policy) {
+        return copy(stop, backoff, policy, listeners, retrySwitch, tuning, deadLetterSink);
+    }
+
+    /**
+     * Copy of this config with another backoff; every other component is shared.
+     */
+    public RetryConfig<T> withBackoff(BackoffStrategy backoff) {
+        return copy(stop, backoff, policy, listeners, retrySwitch, tuning, deadLetterSink);
+    }
+
+    /**
+     * Copy of this config with other listeners; every other component is shared.
+     */
+    public RetryConfig<T> withListeners(RetryListeners<T> listeners) {
+        return copy(stop, backoff, policy, listeners, retrySwitch, tuning, deadLetterSink);
+    }
+
+    /**
+     * Copy of this config with another live tuning and retry switch (either may be null);
+     * every other component is shared.
+     */
+    public RetryConfig<T> withTuning(MutableTuning tuning, RetrySwitch retrySwitch) {
+        return copy(stop, backoff, policy, listeners, retrySwitch, tuning, deadLetterSink);
+    }
+
+    /**
+     * Copy of this config with another dead-letter sink (null for none); every other component is shared.
+     */
+    public RetryConfig<T> withDeadLetterSink(DeadLetterSink deadLetterSink) {
+        return copy(stop, backoff, policy, listeners, retrySwitch, tuning, deadLetterSink);
+    }
+
+    private RetryConfig<T> copy(StopStrategy stop, BackoffStrategy backoff, RetryPolicy<T> policy, RetryListeners<T> listeners,
+                                RetrySwitch retrySwitch, MutableTuning tuning, DeadLetterSink deadLetterSink) {
+        return new RetryConfig<>(
+                name, id, tags,
+                stop, backoff,
+                policy,
+                listeners, sleeper, clock,
+                budget, metrics,
+                attemptTimeout, attemptExecutor,
+                fallback,
+                backoffRouter, retryAfterExtractor,
+                retrySwitch, tuning,
+                bulkhead,
+                singleFlight, coalesceBy,
+                lifecycle,
+                cache, cacheKeyFn, cacheTtl,
+                eventBus,
+                trace,
+                attemptTimeouts,
+                deadLetterSink, deadLetterKeyFn,
+                hedge, minAttemptTime, timeoutMode,
+                circuitBreaker,
+                retryAfterGate
+        );
     }
 
     public T run(Callable<T> task) {
@@ -152,7 +248,11 @@ public final class RetryConfig<T> {
                 retrySwitch, tuning, bulkhead,
                 singleFlight, coalesceBy, lifecycle,
                 cache, cacheKeyFn, cacheTtl,
-                eventBus, trace, attemptTimeouts
+                eventBus, trace, attemptTimeouts,
+                deadLetterSink, deadLetterKeyFn,
+                hedge, minAttemptTime, timeoutMode,
+                circuitBreaker,
+                retryAfterGate
         );
 
         return executor.run();
@@ -162,4 +262,8 @@ public final class RetryConfig<T> {
         Objects.requireNonNull(executor, "executor");
         return CompletableFuture.supplyAsync(() -> run(task), executor);
     }
+
+    public <E> BatchResult<E> runBatch(List<E> items, BatchCall<E> call) {
+        return new BatchRetryExecutor(this).run(items, call);
+    }
 }
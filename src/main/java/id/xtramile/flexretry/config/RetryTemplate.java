@@ -1,5 +1,12 @@
 package id.xtramile.flexretry.config;
 
+import id.xtramile.flexretry.RetryOutcome;
+import id.xtramile.flexretry.control.batch.BatchCall;
+import id.xtramile.flexretry.control.batch.BatchResult;
+import id.xtramile.flexretry.control.bulk.BulkRetryExecutor;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -18,4 +25,14 @@ public final class RetryTemplate<T> {
     public CompletableFuture<T> runAsync(Callable<T> task, Executor executor) {
         return config.runAsync(task, executor);
     }
+
+    public <E> BatchResult<E> runBatch(List<E> items, BatchCall<E> call) {
+        return config.runBatch(items, call);
+    }
+
+    public List<RetryOutcome<T>> runAll(Collection<? extends Callable<T>> tasks, int parallelism) {
+        try (BulkRetryExecutor<T> bulk = new BulkRetryExecutor<>(config, parallelism)) {
+            return bulk.runAll(tasks);
+        }
+    }
 }
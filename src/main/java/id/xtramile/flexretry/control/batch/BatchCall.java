@@ -0,0 +1,13 @@
+package id.xtramile.flexretry.control.batch;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Sends one batch and reports which positions of "batch" failed (empty when all succeeded).
+ * Throwing marks the whole batch as failed and is classified by the retry policy.
+ */
+@FunctionalInterface
+public interface BatchCall<E> {
+    BitSet call(List<E> batch) throws Exception;
+}
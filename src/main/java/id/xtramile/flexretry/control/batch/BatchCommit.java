@@ -0,0 +1,11 @@
+package id.xtramile.flexretry.control.batch;
+
+import java.util.List;
+
+/**
+ * Commits a whole batch, or throws when any item in it fails.
+ */
+@FunctionalInterface
+public interface BatchCommit<E> {
+    void commit(List<E> batch) throws Exception;
+}
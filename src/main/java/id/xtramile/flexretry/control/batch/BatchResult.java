@@ -5,10 +5,19 @@ import java.util.List;
 public final class BatchResult<T> {
     public final List<T> successes;
     public final List<T> failures;
+    /**
+     * Whole-batch error the failures were left with, or null when they failed item by item.
+     */
+    public final Throwable error;
 
     public BatchResult(List<T> successes, List<T> failures) {
+        this(successes, failures, null);
+    }
+
+    public BatchResult(List<T> successes, List<T> failures, Throwable error) {
         this.successes = successes;
         this.failures = failures;
+        this.error = error;
     }
 
     public boolean isComplete() {
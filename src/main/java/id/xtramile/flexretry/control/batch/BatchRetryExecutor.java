@@ -0,0 +1,197 @@
+package id.xtramile.flexretry.control.batch;
+
+import id.xtramile.flexretry.RetryException;
+import id.xtramile.flexretry.RetryExecutor;
+import id.xtramile.flexretry.config.RetryConfig;
+import id.xtramile.flexretry.strategy.stop.StopStrategy;
+
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Retries a batch round by round, resubmitting only the items that failed, with the
+ * config's backoff between rounds. Rounds count as attempts for the stop strategy.
+ */
+public final class BatchRetryExecutor {
+    private final RetryConfig<?> config;
+
+    public BatchRetryExecutor(RetryConfig<?> config) {
+        this.config = Objects.requireNonNull(config, "config");
+    }
+
+    /**
+     * List mode: failed items are tracked as a bitset over "items" and each round is a
+     * view over the pending indices, so no item list is copied between rounds.
+     * Items still failing when retries stop are returned in {@link BatchResult#failures}, together
+     * with the whole-batch error when the last round threw instead of reporting failed items.
+     */
+    public <E> BatchResult<E> run(List<E> items, BatchCall<E> call) {
+        Objects.requireNonNull(call, "call");
+
+        BitSet pending = new BitSet(items.size());
+        pending.set(0, items.size());
+
+        long startNanos = config.clock.nanoTime();
+
+        for (int round = 1; ; round++) {
+            PendingView<E> batch = new PendingView<>(items, pending);
+            config.metrics.attemptStarted(config.name, round);
+
+            BitSet failed;
+            Throwable error = null;
+            try {
+                failed = call.call(batch);
+            } catch (Throwable e) {
+                config.metrics.attemptFailed(config.name, round, e);
+
+                if (!config.policy.shouldRetry(null, e, round, Integer.MAX_VALUE)) {
+                    // Keep what earlier rounds achieved; only the still-pending items failed
+                    config.metrics.exhausted(config.name, round, e);
+                    return split(items, pending, e);
+                }
+
+                failed = null; // every pending item failed
+                error = e;
+            }
+
+            if (failed != null) {
+                pending = batch.toOriginal(failed);
+            }
+
+            if (pending.isEmpty()) {
+                config.metrics.attemptSucceeded(config.name, round);
+                return split(items, pending, null);
+            }
+
+            if (!awaitNextRound(round, startNanos)) {
+                config.metrics.exhausted(config.name, round, error);
+                return split(items, pending, error);
+            }
+        }
+    }
+
+    /**
+     * Generic mode for inputs that are not lists: "strategy" reduces the input to the failures
+     * of the previous round. Successes accumulate across rounds; the failures are those of the
+     * last round that reported items, with the error of the last round if it threw instead.
+     */
+    public <I, R> BatchResult<R> run(I input, Function<I, BatchResult<R>> call, BatchRetryStrategy<I> strategy) {
+        Objects.requireNonNull(call, "call");
+        Objects.requireNonNull(strategy, "strategy");
+
+        long startNanos = config.clock.nanoTime();
+        I current = input;
+        List<R> successes = new ArrayList<>();
+        List<R> failures = List.of();
+
+        for (int round = 1; ; round++) {
+            config.metrics.attemptStarted(config.name, round);
+
+            BatchResult<R> result;
+            Throwable error = null;
+            try {
+                result = call.apply(current);
+            } catch (Throwable e) {
+                config.metrics.attemptFailed(config.name, round, e);
+
+                if (!config.policy.shouldRetry(null, e, round, Integer.MAX_VALUE)) {
+                    config.metrics.exhausted(config.name, round, e);
+                    return new BatchResult<>(successes, failures, e);
+                }
+
+                result = null; // the whole round failed: retry the same input
+                error = e;
+            }
+
+            if (result != null) {
+                if (result.successes != null) {
+                    successes.addAll(result.successes);
+                }
+
+                failures = result.failures == null ? List.of() : result.failures;
+
+                if (result.isComplete()) {
+                    config.metrics.attemptSucceeded(config.name, round);
+                    return new BatchResult<>(successes, failures);
+                }
+            }
+
+            if (!awaitNextRound(round, startNanos)) {
+                config.metrics.exhausted(config.name, round, error);
+                return new BatchResult<>(successes, failures, error);
+            }
+
+            if (result != null) {
+                current = strategy.reduce(current, result.failures);
+            }
+        }
+    }
+
+    private boolean awaitNextRound(int round, long startNanos) {
+        Duration delay = config.backoff.delayForAttempt(round);
+        StopStrategy stop = RetryExecutor.effectiveStop(config.stop, config.tuning, config.retrySwitch);
+
+        if (stop.shouldStop(round + 1, startNanos, config.clock.nanoTime(), delay) || !config.budget.tryAcquire()) {
+            return false;
+        }
+
+        try {
+            config.sleeper.sleep(delay);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RetryException("Interrupted during batch retry", ie, round);
+        }
+
+        return true;
+    }
+
+    private static <E> BatchResult<E> split(List<E> items, BitSet failed, Throwable error) {
+        List<E> successes = new ArrayList<>(items.size() - failed.cardinality());
+        List<E> failures = new ArrayList<>(failed.cardinality());
+
+        for (int i = 0; i < items.size(); i++) {
+            (failed.get(i) ? failures : successes).add(items.get(i));
+        }
+
+        return new BatchResult<>(successes, failures, error);
+    }
+
+    /**
+     * Read-only view of the pending items of the original list.
+     */
+    private static final class PendingView<E> extends AbstractList<E> implements RandomAccess {
+        private final List<E> items;
+        private final int[] indices;
+
+        PendingView(List<E> items, BitSet pending) {
+            this.items = items;
+            this.indices = pending.stream().toArray();
+        }
+
+        @Override
+        public E get(int index) {
+            return items.get(indices[index]);
+        }
+
+        @Override
+        public int size() {
+            return indices.length;
+        }
+
+        BitSet toOriginal(BitSet failedPositions) {
+            BitSet original = new BitSet();
+
+            for (int i = failedPositions.nextSetBit(0); i >= 0 && i < indices.length; i = failedPositions.nextSetBit(i + 1)) {
+                original.set(indices[i]);
+            }
+
+            return original;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package id.xtramile.flexretry.control.batch;
+
+import id.xtramile.flexretry.RetryException;
+import id.xtramile.flexretry.RetryExecutor;
+import id.xtramile.flexretry.config.RetryConfig;
+import id.xtramile.flexretry.strategy.stop.StopStrategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Isolates poison items in all-or-nothing batch writes. A batch-level error the config's
+ * policy would retry is treated as transient and the same batch is retried with backoff;
+ * any other error, or a transient one that outlasts the retries, splits the batch into
+ * "fanOut" parts that are committed in parallel, down to single items, which then land in
+ * {@link BatchResult#failures}. The stop strategy's elapsed budget covers the whole bisection.
+ */
+public final class BisectingBatchExecutor {
+    private final RetryConfig<?> config;
+    private final int fanOut;
+    private final ForkJoinPool pool;
+
+    public BisectingBatchExecutor(RetryConfig<?> config, int fanOut) {
+        this(config, fanOut, ForkJoinPool.commonPool());
+    }
+
+    public BisectingBatchExecutor(RetryConfig<?> config, int fanOut, ForkJoinPool pool) {
+        if (fanOut < 2) {
+            throw new IllegalArgumentException("fanOut >= 2");
+        }
+
+        this.config = Objects.requireNonNull(config, "config");
+        this.fanOut = fanOut;
+        this.pool = Objects.requireNonNull(pool, "pool");
+    }
+
+    public <E> BatchResult<E> run(List<E> items, BatchCommit<E> commit) {
+        Objects.requireNonNull(commit, "commit");
+
+        if (items.isEmpty()) {
+            return new BatchResult<>(List.of(), List.of());
+        }
+
+        return pool.invoke(new CommitTask<>(items, commit, config.clock.nanoTime()));
+    }
+
+    /**
+     * Commits "batch", retrying transient errors; null when the batch should be split.
+     */
+    private <E> BatchResult<E> commitWithRetry(List<E> batch, BatchCommit<E> commit, long startNanos) {
+        for (int attempt = 1; ; attempt++) {
+            config.metrics.attemptStarted(config.name, attempt);
+
+            Throwable error;
+            try {
+                commit.commit(batch);
+                config.metrics.attemptSucceeded(config.name, attempt);
+                return new BatchResult<>(batch, List.of());
+
+            } catch (Throwable e) {
+                error = e;
+                config.metrics.attemptFailed(config.name, attempt, e);
+            }
+
+            if (!config.policy.shouldRetry(null, error, attempt, Integer.MAX_VALUE)) {
+                return null; // not transient: split
+            }
+
+            Duration delay = config.backoff.delayForAttempt(attempt);
+            StopStrategy stop = RetryExecutor.effectiveStop(config.stop, config.tuning, config.retrySwitch);
+
+            if (stop.shouldStop(attempt + 1, startNanos, config.clock.nanoTime(), delay) || !config.budget.tryAcquire()) {
+                config.metrics.exhausted(config.name, attempt, error);
+                return null; // transient retries exhausted: a poison item may still hide in the batch
+            }
+
+            try {
+                // Backoff runs inside pool tasks: let the pool compensate instead of pinning the worker
+                ForkJoinPool.managedBlock(new BackoffBlocker(delay));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new RetryException("Interrupted during batch retry", ie, attempt);
+            }
+        }
+    }
+
+    private final class BackoffBlocker implements ForkJoinPool.ManagedBlocker {
+        private final Duration delay;
+        private boolean slept;
+
+        BackoffBlocker(Duration delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (!slept) {
+                config.sleeper.sleep(delay);
+                slept = true;
+            }
+
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return slept || delay.isZero() || delay.isNegative();
+        }
+    }
+
+    private final class CommitTask<E> extends RecursiveTask<BatchResult<E>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<E> batch;
+        private final BatchCommit<E> commit;
+        private final long startNanos;
+
+        CommitTask(List<E> batch, BatchCommit<E> commit, long startNanos) {
+            this.batch = batch;
+            this.commit = commit;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        protected BatchResult<E> compute() {
+            StopStrategy stop = RetryExecutor.effectiveStop(config.stop, config.tuning, config.retrySwitch);
+
+            if (stop.shouldStop(1, startNanos, config.clock.nanoTime(), Duration.ZERO)) {
+                return new BatchResult<>(List.of(), batch); // out of time: not even a first attempt
+            }
+
+            BatchResult<E> result = commitWithRetry(batch, commit, startNanos);
+            if (result != null) {
+                return result;
+            }
+
+            if (batch.size() == 1) {
+                return new BatchResult<>(List.of(), batch);
+            }
+
+            int parts = Math.min(fanOut, batch.size());
+            List<CommitTask<E>> children = new ArrayList<>(parts);
+
+            for (int i = 0; i < parts; i++) {
+                int from = (int) ((long) batch.size() * i / parts);
+                int to = (int) ((long) batch.size() * (i + 1) / parts);
+                children.add(new CommitTask<>(batch.subList(from, to), commit, startNanos));
+            }
+
+            invokeAll(children);
+
+            List<E> successes = new ArrayList<>();
+            List<E> failures = new ArrayList<>();
+
+            for (CommitTask<E> child : children) {
+                BatchResult<E> part = child.join();
+                successes.addAll(part.successes);
+                failures.addAll(part.failures);
+            }
+
+            return new BatchResult<>(successes, failures);
+        }
+    }
+}
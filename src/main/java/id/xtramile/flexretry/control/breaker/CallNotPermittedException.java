@@ -0,0 +1,12 @@
+package id.xtramile.flexretry.control.breaker;
+
+/**
+ * Thrown (as a shared, stackless instance) when an open circuit breaker rejects a call.
+ */
+public final class CallNotPermittedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    CallNotPermittedException(String breakerName) {
+        super("Circuit breaker '" + breakerName + "' is open", null, false, false);
+    }
+}
@@ -0,0 +1,367 @@
+package id.xtramile.flexretry.control.breaker;
+
+import id.xtramile.flexretry.control.health.HealthProbe;
+import id.xtramile.flexretry.support.time.Clock;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Circuit breaker over a lock-free sliding window of call outcomes.
+ * Opens when the failure rate or slow-call rate crosses its threshold, rejects calls while open,
+ * then lets a limited number of probe calls through (half-open) to decide whether to close again.
+ * Reported as a {@link HealthProbe}: CLOSED is UP, HALF_OPEN is DEGRADED, OPEN is DOWN.
+ */
+public final class CircuitBreaker implements HealthProbe {
+    private final String name;
+    private final SlidingWindow window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenPermits;
+    private final Predicate<Throwable> recordFailure;
+    private final Clock clock;
+    private final BiConsumer<CircuitState, CircuitState> onStateChange;
+    private final CallNotPermittedException notPermitted;
+
+    private final AtomicReference<Phase> phase;
+
+    private CircuitBreaker(Builder builder) {
+        this.name = builder.name;
+        this.window = builder.windowDuration != null
+                ? new TimeWindow(builder.windowDuration.toNanos(), builder.windowBuckets)
+                : new CountWindow(builder.windowSize);
+        this.minimumCalls = builder.minimumCalls;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallNanos = builder.slowCallDuration == null ? Long.MAX_VALUE : builder.slowCallDuration.toNanos();
+        this.openNanos = builder.waitInOpen.toNanos();
+        this.halfOpenPermits = builder.halfOpenPermits;
+        this.recordFailure = builder.recordFailure;
+        this.clock = builder.clock;
+        this.onStateChange = builder.onStateChange;
+        this.notPermitted = new CallNotPermittedException(name);
+        this.phase = new AtomicReference<>(Phase.closed());
+    }
+
+    public static Builder newBuilder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Permission for one call, or null if the call is rejected; in HALF_OPEN this takes one of
+     * the probe permits. Hand the permit back to {@link #onSuccess}, {@link #onError} or {@link #release}.
+     */
+    public Permit tryAcquire() {
+        Phase current = phase.get();
+
+        if (current.state == CircuitState.CLOSED) {
+            return current;
+        }
+
+        if (current.state == CircuitState.OPEN) {
+            if (clock.nanoTime() - current.openedAtNanos < openNanos) {
+                return null;
+            }
+
+            transition(current, Phase.halfOpen(halfOpenPermits));
+            current = phase.get();
+
+            if (current.state != CircuitState.HALF_OPEN) {
+                return current.state == CircuitState.CLOSED ? current : null;
+            }
+        }
+
+        return current.takePermit() ? current : null;
+    }
+
+    /**
+     * Returns "permit" for a call that never ran. Only the phase that issued it gets it back,
+     * so a permit outliving its half-open phase cannot add a probe to a later one.
+     */
+    public void release(Permit permit) {
+        Phase issuer = (Phase) Objects.requireNonNull(permit, "permit");
+
+        if (issuer.state == CircuitState.HALF_OPEN) {
+            issuer.permits.incrementAndGet();
+        }
+    }
+
+    public void onSuccess(Permit permit, long durationNanos) {
+        record((Phase) Objects.requireNonNull(permit, "permit"), false, durationNanos >= slowCallNanos);
+    }
+
+    public void onError(Permit permit, Throwable error, long durationNanos) {
+        if (error != null && !recordFailure.test(error)) {
+            release(permit);
+            return;
+        }
+
+        record((Phase) Objects.requireNonNull(permit, "permit"), true, durationNanos >= slowCallNanos);
+    }
+
+    /**
+     * Shared stackless exception for rejected calls.
+     */
+    public CallNotPermittedException notPermitted() {
+        return notPermitted;
+    }
+
+    public CircuitState circuitState() {
+        return phase.get().state;
+    }
+
+    @Override
+    public State state() {
+        switch (phase.get().state) {
+            case OPEN:
+                return State.DOWN;
+            case HALF_OPEN:
+                return State.DEGRADED;
+            default:
+                return State.UP;
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Forces the breaker closed and clears the window.
+     */
+    public void reset() {
+        Phase current = phase.get();
+
+        if (current.state != CircuitState.CLOSED) {
+            transition(current, Phase.closed());
+        }
+
+        window.reset();
+    }
+
+    private void record(Phase issuer, boolean failure, boolean slow) {
+        Phase current = phase.get();
+
+        if (current.state == CircuitState.CLOSED) {
+            long now = clock.nanoTime();
+            window.record(failure, slow, now);
+
+            if (exceeds(window.snapshot(now), minimumCalls)) {
+                transition(current, Phase.open(now));
+            }
+        } else if (current.state == CircuitState.HALF_OPEN && issuer == current) {
+            long counts = current.probes.addAndGet(Counts.of(failure, slow));
+
+            if (Counts.total(counts) >= halfOpenPermits) {
+                transition(current, exceeds(counts, 1) ? Phase.open(clock.nanoTime()) : Phase.closed());
+            }
+        }
+        // OPEN, or a probe of an earlier phase: late results are ignored
+    }
+
+    private boolean exceeds(long counts, int minimum) {
+        long total = Counts.total(counts);
+
+        if (total == 0 || total < minimum) {
+            return false;
+        }
+
+        return Counts.failures(counts) * 100.0 >= failureRateThreshold * total
+                || Counts.slow(counts) * 100.0 >= slowCallRateThreshold * total;
+    }
+
+    private void transition(Phase from, Phase to) {
+        if (!phase.compareAndSet(from, to)) {
+            return;
+        }
+
+        if (to.state == CircuitState.CLOSED || from.state == CircuitState.CLOSED) {
+            window.reset();
+        }
+
+        if (onStateChange != null) {
+            try {
+                onStateChange.accept(from.state, to.state);
+            } catch (Throwable ignore) {
+            }
+        }
+    }
+
+    /**
+     * Opaque permission for one call, bound to the breaker phase that issued it.
+     */
+    public abstract static class Permit {
+        private Permit() {
+        }
+    }
+
+    private static final class Phase extends Permit {
+        final CircuitState state;
+        final long openedAtNanos;
+        final AtomicInteger permits;
+        final AtomicLong probes;
+
+        private Phase(CircuitState state, long openedAtNanos, int permits) {
+            this.state = state;
+            this.openedAtNanos = openedAtNanos;
+            this.permits = state == CircuitState.HALF_OPEN ? new AtomicInteger(permits) : null;
+            this.probes = state == CircuitState.HALF_OPEN ? new AtomicLong() : null;
+        }
+
+        static Phase closed() {
+            return new Phase(CircuitState.CLOSED, 0L, 0);
+        }
+
+        static Phase open(long nowNanos) {
+            return new Phase(CircuitState.OPEN, nowNanos, 0);
+        }
+
+        static Phase halfOpen(int permits) {
+            return new Phase(CircuitState.HALF_OPEN, 0L, permits);
+        }
+
+        boolean takePermit() {
+            for (; ; ) {
+                int left = permits.get();
+
+                if (left <= 0) {
+                    return false;
+                }
+
+                if (permits.compareAndSet(left, left - 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    public static final class Builder {
+        private final String name;
+        private int windowSize = 100;
+        private Duration windowDuration = null;
+        private int windowBuckets = 10;
+        private int minimumCalls = 20;
+        private double failureRateThreshold = 50.0;
+        private double slowCallRateThreshold = 100.0;
+        private Duration slowCallDuration = null;
+        private Duration waitInOpen = Duration.ofSeconds(30);
+        private int halfOpenPermits = 5;
+        private Predicate<Throwable> recordFailure = error -> true;
+        private Clock clock = Clock.system();
+        private BiConsumer<CircuitState, CircuitState> onStateChange = null;
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name, "name");
+        }
+
+        /**
+         * Window over the last "size" calls (default 100).
+         */
+        public Builder countWindow(int size) {
+            if (size < 1) {
+                throw new IllegalArgumentException("size >= 1");
+            }
+
+            this.windowSize = size;
+            this.windowDuration = null;
+            return this;
+        }
+
+        /**
+         * Window over the calls of the last "duration", split into "buckets" ring slots.
+         */
+        public Builder timeWindow(Duration duration, int buckets) {
+            Objects.requireNonNull(duration, "duration");
+
+            if (duration.isZero() || duration.isNegative()) {
+                throw new IllegalArgumentException("duration > 0");
+            }
+
+            if (buckets < 1) {
+                throw new IllegalArgumentException("buckets >= 1");
+            }
+
+            this.windowDuration = duration;
+            this.windowBuckets = buckets;
+            return this;
+        }
+
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls < 1) {
+                throw new IllegalArgumentException("minimumCalls >= 1");
+            }
+
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Percentage (0..100] of failed calls that opens the breaker (default 50).
+         */
+        public Builder failureRateThreshold(double percent) {
+            if (percent <= 0.0 || percent > 100.0) {
+                throw new IllegalArgumentException("0 < percent <= 100");
+            }
+
+            this.failureRateThreshold = percent;
+            return this;
+        }
+
+        /**
+         * Calls slower than "duration" count as slow; the breaker opens at "percent" slow calls.
+         */
+        public Builder slowCallRateThreshold(Duration duration, double percent) {
+            if (percent <= 0.0 || percent > 100.0) {
+                throw new IllegalArgumentException("0 < percent <= 100");
+            }
+
+            this.slowCallDuration = Objects.requireNonNull(duration, "duration");
+            this.slowCallRateThreshold = percent;
+            return this;
+        }
+
+        public Builder waitInOpen(Duration waitInOpen) {
+            this.waitInOpen = Objects.requireNonNull(waitInOpen, "waitInOpen");
+            return this;
+        }
+
+        public Builder halfOpenPermits(int permits) {
+            if (permits < 1) {
+                throw new IllegalArgumentException("permits >= 1");
+            }
+
+            this.halfOpenPermits = permits;
+            return this;
+        }
+
+        /**
+         * Errors not matching the predicate are ignored rather than counted as failures.
+         */
+        public Builder recordFailure(Predicate<Throwable> predicate) {
+            this.recordFailure = Objects.requireNonNull(predicate, "predicate");
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock");
+            return this;
+        }
+
+        public Builder onStateChange(BiConsumer<CircuitState, CircuitState> listener) {
+            this.onStateChange = listener;
+            return this;
+        }
+
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this);
+        }
+    }
+}
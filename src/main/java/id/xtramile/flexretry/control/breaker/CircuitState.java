@@ -0,0 +1,7 @@
+package id.xtramile.flexretry.control.breaker;
+
+public enum CircuitState {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+}
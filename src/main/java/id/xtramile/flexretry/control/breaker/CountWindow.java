@@ -0,0 +1,56 @@
+package id.xtramile.flexretry.control.breaker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Last N outcomes in a ring; each write swaps a slot and adjusts one packed counter.
+ */
+final class CountWindow implements SlidingWindow {
+    private final AtomicLongArray slots;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicLong counts = new AtomicLong();
+    private final int size;
+
+    CountWindow(int size) {
+        if (size < 1 || size > Counts.MAX / 2) {
+            throw new IllegalArgumentException("1 <= size <= " + Counts.MAX / 2);
+        }
+
+        this.size = size;
+        this.slots = new AtomicLongArray(size);
+    }
+
+    @Override
+    public void record(boolean failure, boolean slow, long nowNanos) {
+        long outcome = Counts.of(failure, slow);
+        int index = Math.floorMod(cursor.getAndIncrement(), size);
+        long previous = slots.getAndSet(index, outcome);
+
+        counts.addAndGet(outcome - previous);
+    }
+
+    @Override
+    public long snapshot(long nowNanos) {
+        long current = counts.get();
+
+        // a racing overwrite can leave a field briefly out of range; report empty until it settles
+        if (Counts.total(current) > size || Counts.failures(current) > size || Counts.slow(current) > size) {
+            return 0L;
+        }
+
+        return current;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < size; i++) {
+            long previous = slots.getAndSet(i, 0L);
+
+            if (previous != 0L) {
+                counts.addAndGet(-previous);
+            }
+        }
+    }
+}
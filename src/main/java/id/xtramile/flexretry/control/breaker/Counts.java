@@ -0,0 +1,34 @@
+package id.xtramile.flexretry.control.breaker;
+
+/**
+ * Call counts packed into one long: 21 bits each for total, failures and slow calls.
+ */
+final class Counts {
+    static final long MAX = (1L << 21) - 1;
+
+    private static final int FAILURE_SHIFT = 21;
+    private static final int SLOW_SHIFT = 42;
+
+    private Counts() {
+    }
+
+    static long of(boolean failure, boolean slow) {
+        return 1L | (failure ? 1L << FAILURE_SHIFT : 0L) | (slow ? 1L << SLOW_SHIFT : 0L);
+    }
+
+    static long pack(long total, long failures, long slow) {
+        return total | (failures << FAILURE_SHIFT) | (slow << SLOW_SHIFT);
+    }
+
+    static long total(long counts) {
+        return counts & MAX;
+    }
+
+    static long failures(long counts) {
+        return (counts >>> FAILURE_SHIFT) & MAX;
+    }
+
+    static long slow(long counts) {
+        return (counts >>> SLOW_SHIFT) & MAX;
+    }
+}
@@ -0,0 +1,15 @@
+package id.xtramile.flexretry.control.breaker;
+
+/**
+ * Lock-free window of recent call outcomes used by {@link CircuitBreaker}.
+ */
+interface SlidingWindow {
+    void record(boolean failure, boolean slow, long nowNanos);
+
+    /**
+     * Current counts packed with {@link Counts}.
+     */
+    long snapshot(long nowNanos);
+
+    void reset();
+}
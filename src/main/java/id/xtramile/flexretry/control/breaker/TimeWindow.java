@@ -0,0 +1,91 @@
+package id.xtramile.flexretry.control.breaker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outcomes of the last window duration, kept in a ring of epoch-stamped buckets.
+ * A bucket is recycled by the first writer that sees a stale epoch.
+ */
+final class TimeWindow implements SlidingWindow {
+    private final Bucket[] buckets;
+    private final long bucketNanos;
+
+    TimeWindow(long windowNanos, int bucketCount) {
+        if (windowNanos <= 0 || bucketCount < 1) {
+            throw new IllegalArgumentException("windowNanos > 0 && bucketCount >= 1");
+        }
+
+        this.bucketNanos = Math.max(1L, windowNanos / bucketCount);
+        this.buckets = new Bucket[bucketCount];
+
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    @Override
+    public void record(boolean failure, boolean slow, long nowNanos) {
+        long epoch = Math.floorDiv(nowNanos, bucketNanos);
+        Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+        long seen = bucket.epoch.get();
+
+        if (seen < epoch && bucket.epoch.compareAndSet(seen, epoch)) {
+            bucket.total.set(0);
+            bucket.failures.set(0);
+            bucket.slow.set(0);
+        }
+
+        bucket.total.incrementAndGet();
+
+        if (failure) {
+            bucket.failures.incrementAndGet();
+        }
+
+        if (slow) {
+            bucket.slow.incrementAndGet();
+        }
+    }
+
+    @Override
+    public long snapshot(long nowNanos) {
+        long epoch = Math.floorDiv(nowNanos, bucketNanos);
+        long total = 0;
+        long failures = 0;
+        long slow = 0;
+
+        for (Bucket bucket : buckets) {
+            long bucketEpoch = bucket.epoch.get();
+
+            if (bucketEpoch <= epoch && bucketEpoch > epoch - buckets.length) {
+                total += bucket.total.get();
+                failures += bucket.failures.get();
+                slow += bucket.slow.get();
+            }
+        }
+
+        if (total > Counts.MAX) {
+            // keep the rates, drop precision
+            double scale = (double) Counts.MAX / total;
+            return Counts.pack(Counts.MAX, Math.min(Counts.MAX, (long) (failures * scale)), Math.min(Counts.MAX, (long) (slow * scale)));
+        }
+
+        return Counts.pack(total, Math.min(failures, total), Math.min(slow, total));
+    }
+
+    @Override
+    public void reset() {
+        for (Bucket bucket : buckets) {
+            bucket.epoch.set(Long.MIN_VALUE);
+            bucket.total.set(0);
+            bucket.failures.set(0);
+            bucket.slow.set(0);
+        }
+    }
+
+    private static final class Bucket {
+        final AtomicLong epoch = new AtomicLong(Long.MIN_VALUE);
+        final AtomicLong total = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong slow = new AtomicLong();
+    }
+}
@@ -0,0 +1,260 @@
+package id.xtramile.flexretry.control.bulk;
+
+import id.xtramile.flexretry.RetryContext;
+import id.xtramile.flexretry.RetryException;
+import id.xtramile.flexretry.RetryExecutor;
+import id.xtramile.flexretry.RetryListeners;
+import id.xtramile.flexretry.RetryOutcome;
+import id.xtramile.flexretry.config.RetryConfig;
+import id.xtramile.flexretry.control.dlq.DeadLetterSink;
+import id.xtramile.flexretry.control.tuning.MutableTuning;
+import id.xtramile.flexretry.strategy.backoff.BackoffStrategy;
+import id.xtramile.flexretry.strategy.policy.RetryPolicy;
+import id.xtramile.flexretry.strategy.stop.StopStrategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Runs many independent tasks through one {@link RetryConfig}, so they share its
+ * {@link id.xtramile.flexretry.control.budget.RetryBudget} and
+ * {@link id.xtramile.flexretry.control.bulkhead.Bulkhead}, on a work-stealing pool with a
+ * fixed parallelism. Keep the parallelism at or below the bulkhead's permits, since the
+ * bulkhead rejects rather than waits.
+ */
+public final class BulkRetryExecutor<T> implements AutoCloseable {
+    private final RetryConfig<T> config;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+
+    private Predicate<Throwable> fatal = error -> false;
+
+    public BulkRetryExecutor(RetryConfig<T> config, int parallelism) {
+        this(config, new ForkJoinPool(parallelism), true);
+    }
+
+    public BulkRetryExecutor(RetryConfig<T> config, ForkJoinPool pool) {
+        this(config, pool, false);
+    }
+
+    private BulkRetryExecutor(RetryConfig<T> config, ForkJoinPool pool, boolean ownsPool) {
+        this.config = Objects.requireNonNull(config, "config");
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.ownsPool = ownsPool;
+    }
+
+    /**
+     * A final error matching "fatal" cancels every task that has not finished yet: pending
+     * tasks are skipped and running ones end with {@link CancellationException} (caused by their
+     * last error) before their next backoff or attempt.
+     */
+    public BulkRetryExecutor<T> failFast(Predicate<Throwable> fatal) {
+        this.fatal = Objects.requireNonNull(fatal, "fatal");
+        return this;
+    }
+
+    /**
+     * Outcomes in the same order as "tasks".
+     */
+    public List<RetryOutcome<T>> runAll(Collection<? extends Callable<T>> tasks) {
+        @SuppressWarnings("unchecked")
+        RetryOutcome<T>[] outcomes = (RetryOutcome<T>[]) new RetryOutcome<?>[tasks.size()];
+        runAll(tasks, (index, outcome) -> outcomes[index] = outcome);
+
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * Reports each outcome with its task index as soon as it completes (completion order).
+     * The listener may be called concurrently from pool threads.
+     */
+    public void runAll(Collection<? extends Callable<T>> tasks, CompletionListener<T> listener) {
+        Objects.requireNonNull(listener, "listener");
+
+        List<Callable<T>> list = new ArrayList<>(tasks);
+        if (list.isEmpty()) {
+            return;
+        }
+
+        pool.invoke(new Range(list, 0, list.size(), new AtomicBoolean(), listener));
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    private RetryOutcome<T> runOne(Callable<T> task, AtomicBoolean cancelled) {
+        if (cancelled.get()) {
+            return new RetryOutcome<>(false, null, new CancellationException("Cancelled by a fatal error"), 0);
+        }
+
+        Guard guard = new Guard(cancelled);
+
+        try {
+            T result = guard.config().run(task);
+            return new RetryOutcome<>(true, result, null, guard.attempts);
+
+        } catch (RetryException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+
+            if (guard.vetoed) {
+                return new RetryOutcome<>(false, null, cancellation(cause), e.attempts());
+            }
+
+            cancelIfFatal(cause, cancelled);
+            return new RetryOutcome<>(false, null, cause, e.attempts());
+
+        } catch (Throwable t) {
+            cancelIfFatal(t, cancelled);
+            return new RetryOutcome<>(false, null, t, guard.attempts);
+        }
+    }
+
+    private static CancellationException cancellation(Throwable lastError) {
+        CancellationException cancelled = new CancellationException("Cancelled by a fatal error");
+        cancelled.initCause(lastError);
+        return cancelled;
+    }
+
+    private void cancelIfFatal(Throwable error, AtomicBoolean cancelled) {
+        if (!(error instanceof CancellationException) && fatal.test(error)) {
+            cancelled.set(true);
+        }
+    }
+
+    @FunctionalInterface
+    public interface CompletionListener<T> {
+        void completed(int index, RetryOutcome<T> outcome);
+    }
+
+    /**
+     * Per-task stop and policy over the configured ones: once a fatal error cancelled the run they end
+     * it before the next backoff or attempt instead of letting it retry on. A vetoed run is a
+     * cancellation, not a failure: it skips onFailure and the dead-letter sink. Runs on the calling thread.
+     */
+    private final class Guard implements StopStrategy, RetryPolicy<T> {
+        private final AtomicBoolean cancelled;
+
+        int attempts = 1;
+        boolean vetoed;
+
+        Guard(AtomicBoolean cancelled) {
+            this.cancelled = cancelled;
+        }
+
+        RetryConfig<T> config() {
+            RetryListeners<T> listeners = config.listeners.copy();
+            BiConsumer<Throwable, RetryContext<T>> onFailure = config.listeners.onFailure;
+            listeners.onFailure = (error, ctx) -> {
+                if (!vetoed) {
+                    onFailure.accept(error, ctx);
+                }
+            };
+
+            DeadLetterSink sink = config.deadLetterSink;
+            RetryConfig<T> guarded = config.withStop(this).withPolicy(this).withListeners(listeners)
+                    .withDeadLetterSink(sink == null ? null : letter -> {
+                        if (!vetoed) {
+                            sink.accept(letter);
+                        }
+                    });
+
+            if (config.tuning == null && config.retrySwitch == null) {
+                return guarded;
+            }
+
+            // The executor lets tuning replace the stop, which would drop this guard: fold the
+            // tuned stop in here instead and keep reading the tuned backoff live
+            MutableTuning tuning = config.tuning;
+            BackoffStrategy backoff = config.backoff;
+            return guarded.withTuning(null, null).withBackoff(attempt -> {
+                BackoffStrategy tuned = tuning == null ? null : tuning.backoff();
+                return (tuned != null ? tuned : backoff).delayForAttempt(attempt);
+            });
+        }
+
+        private StopStrategy base() {
+            return RetryExecutor.effectiveStop(config.stop, config.tuning, config.retrySwitch);
+        }
+
+        @Override
+        public boolean shouldStop(int attempt, long startNanos, long nowNanos, Duration nextDelay) {
+            if (cancelled.get()) {
+                vetoed = true;
+                return true;
+            }
+
+            if (base().shouldStop(attempt, startNanos, nowNanos, nextDelay)) {
+                return true;
+            }
+
+            attempts = attempt;
+            return false;
+        }
+
+        @Override
+        public long remainingNanos(long startNanos, long nowNanos) {
+            return base().remainingNanos(startNanos, nowNanos);
+        }
+
+        @Override
+        public boolean shouldRetry(T result, Throwable error, int attempt, int maxAttempts) {
+            if (!config.policy.shouldRetry(result, error, attempt, maxAttempts)) {
+                return false;
+            }
+
+            if (cancelled.get()) {
+                vetoed = true;
+                return false;
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Splits the index range in halves so idle workers steal the larger remaining chunks.
+     */
+    private final class Range extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Callable<T>> tasks;
+        private final int from;
+        private final int to;
+        private final AtomicBoolean cancelled;
+        private final CompletionListener<T> listener;
+
+        Range(List<Callable<T>> tasks, int from, int to, AtomicBoolean cancelled, CompletionListener<T> listener) {
+            this.tasks = tasks;
+            this.from = from;
+            this.to = to;
+            this.cancelled = cancelled;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                listener.completed(from, runOne(tasks.get(from), cancelled));
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new Range(tasks, from, mid, cancelled, listener), new Range(tasks, mid, to, cancelled, listener));
+        }
+    }
+}
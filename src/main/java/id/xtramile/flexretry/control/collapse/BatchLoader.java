@@ -0,0 +1,13 @@
+package id.xtramile.flexretry.control.collapse;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-get backing a {@link RequestCollapser}. Keys absent from the returned map count as
+ * failed for this round; throwing fails every key of the batch.
+ */
+@FunctionalInterface
+public interface BatchLoader<K, V> {
+    Map<K, V> load(List<K> keys) throws Exception;
+}
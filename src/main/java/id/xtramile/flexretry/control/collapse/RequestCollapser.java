@@ -0,0 +1,161 @@
+package id.xtramile.flexretry.control.collapse;
+
+import id.xtramile.flexretry.AsyncRetryExecutor;
+import id.xtramile.flexretry.config.RetryConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collapses single-key loads from many callers into batched {@link BatchLoader} calls,
+ * flushing at "maxBatchSize" distinct keys or after "maxDelay". Concurrent loads of the same
+ * key share one slot in the batch. A caller's load is an {@link AsyncRetryExecutor} stage: a key
+ * missing from the loader's result fails that attempt with {@link NoSuchElementException}, and
+ * a retry puts the key back in the buffer from the timer instead of a sleeping thread.
+ */
+public final class RequestCollapser<K, V> {
+    private final AsyncRetryExecutor<V> async;
+    private final BatchLoader<K, V> loader;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final ScheduledExecutorService timer;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    private Map<K, List<Pending<K, V>>> buffer = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public RequestCollapser(RetryConfig<V> config, BatchLoader<K, V> loader, int maxBatchSize, Duration maxDelay,
+                            ScheduledExecutorService timer, Executor executor) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize >= 1");
+        }
+
+        if (maxDelay == null || maxDelay.isNegative()) {
+            throw new IllegalArgumentException("maxDelay must be >= 0");
+        }
+
+        this.async = new AsyncRetryExecutor<>(config, timer, executor);
+        this.loader = Objects.requireNonNull(loader, "loader");
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.timer = Objects.requireNonNull(timer, "timer");
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    public CompletableFuture<V> load(K key) {
+        Objects.requireNonNull(key, "key");
+
+        // One buffered slot per attempt
+        return async.runStage(() -> {
+            Pending<K, V> pending = new Pending<>(key);
+            enqueue(pending);
+            return pending.future;
+        });
+    }
+
+    /**
+     * Dispatches whatever is buffered right now.
+     */
+    public void flush() {
+        Map<K, List<Pending<K, V>>> ready;
+
+        synchronized (lock) {
+            ready = takeBufferLocked();
+        }
+
+        dispatch(ready);
+    }
+
+    private void enqueue(Pending<K, V> pending) {
+        Map<K, List<Pending<K, V>>> ready = null;
+
+        synchronized (lock) {
+            buffer.computeIfAbsent(pending.key, k -> new ArrayList<>(1)).add(pending);
+
+            if (buffer.size() >= maxBatchSize) {
+                ready = takeBufferLocked();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = timer.schedule(this::flush, maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        dispatch(ready);
+    }
+
+    private Map<K, List<Pending<K, V>>> takeBufferLocked() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        if (buffer.isEmpty()) {
+            return null;
+        }
+
+        Map<K, List<Pending<K, V>>> ready = buffer;
+        buffer = new LinkedHashMap<>();
+
+        return ready;
+    }
+
+    private void dispatch(Map<K, List<Pending<K, V>>> batch) {
+        if (batch == null) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> load(batch));
+        } catch (RejectedExecutionException e) {
+            batch.values().forEach(waiters -> waiters.forEach(p -> p.future.completeExceptionally(e)));
+        }
+    }
+
+    private void load(Map<K, List<Pending<K, V>>> batch) {
+        Map<K, V> results;
+        Throwable batchError = null;
+
+        try {
+            results = loader.load(new ArrayList<>(batch.keySet()));
+            if (results == null) {
+                results = Map.of();
+            }
+        } catch (Throwable t) {
+            results = Map.of();
+            batchError = t;
+        }
+
+        for (Map.Entry<K, List<Pending<K, V>>> entry : batch.entrySet()) {
+            K key = entry.getKey();
+
+            if (batchError == null && results.containsKey(key)) {
+                V value = results.get(key);
+                entry.getValue().forEach(pending -> pending.future.complete(value));
+                continue;
+            }
+
+            Throwable error = batchError != null ? batchError : new NoSuchElementException("No result for key " + key);
+            entry.getValue().forEach(pending -> pending.future.completeExceptionally(error));
+        }
+    }
+
+    private static final class Pending<K, V> {
+        final K key;
+        final CompletableFuture<V> future = new CompletableFuture<>();
+
+        Pending(K key) {
+            this.key = key;
+        }
+    }
+}
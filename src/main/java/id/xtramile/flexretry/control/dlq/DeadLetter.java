@@ -0,0 +1,55 @@
+package id.xtramile.flexretry.control.dlq;
+
+import java.util.Map;
+
+/**
+ * Snapshot of an execution that exhausted its retries and had no fallback.
+ */
+public final class DeadLetter {
+    private final String key;
+    private final String retryName;
+    private final int attempts;
+    private final String lastErrorClass;
+    private final String lastErrorMessage;
+    private final Map<String, String> tags;
+    private final long timestampMillis;
+
+    public DeadLetter(String key, String retryName, int attempts, String lastErrorClass, String lastErrorMessage,
+                      Map<String, String> tags, long timestampMillis) {
+        this.key = key;
+        this.retryName = retryName;
+        this.attempts = attempts;
+        this.lastErrorClass = lastErrorClass;
+        this.lastErrorMessage = lastErrorMessage;
+        this.tags = tags == null ? Map.of() : Map.copyOf(tags);
+        this.timestampMillis = timestampMillis;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String retryName() {
+        return retryName;
+    }
+
+    public int attempts() {
+        return attempts;
+    }
+
+    public String lastErrorClass() {
+        return lastErrorClass;
+    }
+
+    public String lastErrorMessage() {
+        return lastErrorMessage;
+    }
+
+    public Map<String, String> tags() {
+        return tags;
+    }
+
+    public long timestampMillis() {
+        return timestampMillis;
+    }
+}
@@ -0,0 +1,103 @@
+package id.xtramile.flexretry.control.dlq;
+
+import id.xtramile.flexretry.RetryException;
+import id.xtramile.flexretry.RetryOutcome;
+import id.xtramile.flexretry.config.RetryTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Re-drives dead letters through a {@link RetryTemplate} with bounded parallelism and a
+ * start rate limit, so a recovery does not turn into a second stampede.
+ */
+public final class DeadLetterReplayer<T> {
+    private final RetryTemplate<T> template;
+    private final int parallelism;
+    private final long intervalNanos;
+
+    private long nextStartNanos = System.nanoTime();
+
+    public DeadLetterReplayer(RetryTemplate<T> template, int parallelism, double startsPerSecond) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism >= 1");
+        }
+
+        if (startsPerSecond <= 0) {
+            throw new IllegalArgumentException("startsPerSecond > 0");
+        }
+
+        this.template = Objects.requireNonNull(template, "template");
+        this.parallelism = parallelism;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / startsPerSecond);
+    }
+
+    /**
+     * Replays every letter and returns outcomes in the same order as "letters".
+     */
+    public List<RetryOutcome<T>> replay(List<DeadLetter> letters, Function<DeadLetter, Callable<T>> taskFor) {
+        Objects.requireNonNull(taskFor, "taskFor");
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "flexretry-dlq-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<CompletableFuture<RetryOutcome<T>>> futures = new ArrayList<>(letters.size());
+
+            for (DeadLetter letter : letters) {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    awaitStartPermit();
+                    return replayOne(letter, taskFor);
+                }, pool));
+            }
+
+            List<RetryOutcome<T>> outcomes = new ArrayList<>(futures.size());
+            for (CompletableFuture<RetryOutcome<T>> future : futures) {
+                outcomes.add(future.join());
+            }
+
+            return outcomes;
+
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private RetryOutcome<T> replayOne(DeadLetter letter, Function<DeadLetter, Callable<T>> taskFor) {
+        try {
+            T result = template.run(taskFor.apply(letter));
+            return new RetryOutcome<>(true, result, null, 0);
+
+        } catch (RetryException e) {
+            return new RetryOutcome<>(false, null, e.getCause(), e.attempts());
+
+        } catch (Throwable t) {
+            return new RetryOutcome<>(false, null, t, 0);
+        }
+    }
+
+    private void awaitStartPermit() {
+        long startAt;
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            startAt = Math.max(now, nextStartNanos);
+            nextStartNanos = startAt + intervalNanos;
+        }
+
+        for (long wait = startAt - System.nanoTime(); wait > 0; wait = startAt - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package id.xtramile.flexretry.control.dlq;
+
+@FunctionalInterface
+public interface DeadLetterSink {
+    void accept(DeadLetter letter);
+}
@@ -0,0 +1,146 @@
+package id.xtramile.flexretry.control.dlq;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Local file-backed dead-letter store; letters are appended as binary records.
+ */
+public final class FileDeadLetterStore implements DeadLetterSink {
+    private final Path file;
+
+    public FileDeadLetterStore(Path file) {
+        this.file = file;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static String truncate(String value) {
+        // writeUTF is limited to 64KiB of encoded data
+        return value == null || value.length() <= 16_384 ? value : value.substring(0, 16_384);
+    }
+
+    @Override
+    public synchronized void accept(DeadLetter letter) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                    file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+                write(out, letter);
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized List<DeadLetter> readAll() throws IOException {
+        List<DeadLetter> letters = new ArrayList<>();
+
+        if (!Files.exists(file)) {
+            return letters;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            for (; ; ) {
+                try {
+                    letters.add(read(in));
+                } catch (EOFException eof) {
+                    break; // a torn trailing record is ignored
+                }
+            }
+        }
+
+        return letters;
+    }
+
+    /**
+     * Removes letters by key, e.g. after a successful replay.
+     */
+    public synchronized void remove(Collection<String> keys) throws IOException {
+        Set<String> drop = new HashSet<>(keys);
+        List<DeadLetter> remaining = new ArrayList<>();
+
+        for (DeadLetter letter : readAll()) {
+            if (!drop.contains(letter.key())) {
+                remaining.add(letter);
+            }
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            for (DeadLetter letter : remaining) {
+                write(out, letter);
+            }
+        }
+
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void write(DataOutputStream out, DeadLetter letter) throws IOException {
+        writeNullable(out, letter.key());
+        writeNullable(out, letter.retryName());
+        out.writeInt(letter.attempts());
+        writeNullable(out, letter.lastErrorClass());
+        writeNullable(out, truncate(letter.lastErrorMessage()));
+        out.writeInt(letter.tags().size());
+
+        for (Map.Entry<String, String> tag : letter.tags().entrySet()) {
+            out.writeUTF(tag.getKey());
+            writeNullable(out, truncate(tag.getValue()));
+        }
+
+        out.writeLong(letter.timestampMillis());
+    }
+
+    private DeadLetter read(DataInputStream in) throws IOException {
+        String key = readNullable(in);
+        String retryName = readNullable(in);
+        int attempts = in.readInt();
+        String errorClass = readNullable(in);
+        String errorMessage = readNullable(in);
+        int tagCount = in.readInt();
+
+        Map<String, String> tags = new HashMap<>();
+        for (int i = 0; i < tagCount; i++) {
+            String tagKey = in.readUTF();
+            String tagValue = readNullable(in);
+            tags.put(tagKey, tagValue == null ? "" : tagValue);
+        }
+
+        long timestamp = in.readLong();
+
+        return new DeadLetter(key, retryName, attempts, errorClass, errorMessage, tags, timestamp);
+    }
+}
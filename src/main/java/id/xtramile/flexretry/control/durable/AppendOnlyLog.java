@@ -0,0 +1,121 @@
+package id.xtramile.flexretry.control.durable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Length- and CRC-prefixed records in a memory-mapped file that grows in chunks.
+ * A zero length or a CRC mismatch marks the end of the written data; anything after it is
+ * a torn write and is cut off on replay.
+ */
+final class AppendOnlyLog implements Closeable {
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final int chunkSize;
+
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long position;
+
+    AppendOnlyLog(Path file, int chunkSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Replays every complete record, drops any torn tail and positions the log after the last record.
+     */
+    void replay(Consumer<ByteBuffer> consumer) throws IOException {
+        long size = channel.size();
+        long pos = 0;
+
+        if (size > 0) {
+            MappedByteBuffer existing = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            while (pos + HEADER_SIZE <= size) {
+                int length = existing.getInt((int) pos);
+
+                if (length <= 0 || pos + HEADER_SIZE + length > size) {
+                    break;
+                }
+
+                ByteBuffer record = existing.duplicate();
+                record.position((int) pos + HEADER_SIZE).limit((int) pos + HEADER_SIZE + length);
+                ByteBuffer body = record.slice();
+
+                if (crc(body.duplicate()) != existing.getInt((int) pos + Integer.BYTES)) {
+                    break;
+                }
+
+                consumer.accept(body);
+                pos += HEADER_SIZE + length;
+            }
+        }
+
+        if (size > pos) {
+            // Zero the torn tail so a shorter record appended later can never expose stale bytes
+            channel.truncate(pos);
+        }
+
+        position = pos;
+        map(Math.max(chunkSize, HEADER_SIZE));
+    }
+
+    void append(byte[] record) throws IOException {
+        if (region == null) {
+            throw new IllegalStateException("log closed");
+        }
+
+        int needed = HEADER_SIZE + record.length;
+
+        if (position + needed + Integer.BYTES > regionStart + region.capacity()) {
+            region.force();
+            map(Math.max(chunkSize, needed + Integer.BYTES));
+        }
+
+        int offset = (int) (position - regionStart);
+        // Keep the slot after this record zeroed so replay always stops right behind it
+        region.putInt(offset + needed, 0);
+        region.position(offset + HEADER_SIZE);
+        region.put(record);
+        region.putInt(offset + Integer.BYTES, crc(ByteBuffer.wrap(record)));
+        // Length last: a non-zero length with a matching CRC marks a complete record
+        region.putInt(offset, record.length);
+        position += needed;
+    }
+
+    void force() {
+        region.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (region == null) {
+            return;
+        }
+
+        region.force();
+        region = null;
+        channel.truncate(position);
+        channel.close();
+    }
+
+    private static int crc(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private void map(int size) throws IOException {
+        regionStart = position;
+        region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, size);
+    }
+}
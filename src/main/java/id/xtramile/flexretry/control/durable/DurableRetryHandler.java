@@ -0,0 +1,12 @@
+package id.xtramile.flexretry.control.durable;
+
+import id.xtramile.flexretry.RetryContext;
+
+/**
+ * Executes a persisted task; throwing schedules the next attempt.
+ * The context id is the task id and its "lastErrorClass" tag carries the previous failure.
+ */
+@FunctionalInterface
+public interface DurableRetryHandler {
+    void handle(byte[] payload, RetryContext<Void> ctx) throws Exception;
+}
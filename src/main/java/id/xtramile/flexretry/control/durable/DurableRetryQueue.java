@@ -0,0 +1,487 @@
+package id.xtramile.flexretry.control.durable;
+
+import id.xtramile.flexretry.RetryContext;
+import id.xtramile.flexretry.strategy.backoff.BackoffStrategy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Delayed retries that survive restarts: task state lives in an append-only memory-mapped
+ * log and an in-memory delay index, and worker threads run due tasks through registered
+ * {@link DurableRetryHandler}s instead of sleeping a thread per pending retry.
+ */
+public final class DurableRetryQueue implements Closeable {
+    private static final String LOG_FILE = "retry-queue.log";
+    private static final String COMPACT_FILE = "retry-queue.log.compact";
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private static final byte SUBMIT = 1;
+    private static final byte RESCHEDULE = 2;
+    private static final byte COMPLETE = 3;
+
+    private final Path dir;
+    private final BackoffStrategy backoff;
+    private final int maxAttempts;
+
+    private final Map<String, DurableRetryHandler> handlers = new ConcurrentHashMap<>();
+    private final Map<Long, DurableTask> live = new ConcurrentHashMap<>();
+    private final DelayQueue<DurableTask> due = new DelayQueue<>();
+    private final AtomicLong nextTaskId = new AtomicLong(1);
+    private final List<Thread> workers = new ArrayList<>();
+    private final Object logLock = new Object();
+
+    private AppendOnlyLog log;
+    private int syncEvery = 1;
+    private int compactAfter = 10_000;
+    private BiConsumer<DurableTask, Throwable> onExhausted = (task, error) -> {
+    };
+
+    private int unsynced;
+    private int completedSinceCompaction;
+    private boolean closed;
+    private volatile boolean running = true;
+
+    private DurableRetryQueue(Path dir, BackoffStrategy backoff, int maxAttempts) {
+        this.dir = dir;
+        this.backoff = backoff;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Opens the queue in "dir", replaying the log so pending tasks resume where they stopped.
+     */
+    public static DurableRetryQueue open(Path dir, BackoffStrategy backoff, int maxAttempts) throws IOException {
+        Objects.requireNonNull(backoff, "backoff");
+
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts >= 1");
+        }
+
+        Files.createDirectories(dir);
+
+        DurableRetryQueue queue = new DurableRetryQueue(dir, backoff, maxAttempts);
+        queue.recover();
+
+        return queue;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <P extends Serializable> P deserialize(byte[] payload) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return (P) in.readObject();
+        }
+    }
+
+    public DurableRetryQueue register(String handlerId, DurableRetryHandler handler) {
+        handlers.put(Objects.requireNonNull(handlerId, "handlerId"), Objects.requireNonNull(handler, "handler"));
+        return this;
+    }
+
+    /**
+     * fsync the log after every "records" appended records (batched durability).
+     */
+    public DurableRetryQueue syncEvery(int records) {
+        if (records < 1) {
+            throw new IllegalArgumentException("records >= 1");
+        }
+
+        this.syncEvery = records;
+        return this;
+    }
+
+    /**
+     * Rewrite the log with live tasks only once this many tasks completed and they outnumber live ones.
+     */
+    public DurableRetryQueue compactAfter(int completedTasks) {
+        if (completedTasks < 1) {
+            throw new IllegalArgumentException("completedTasks >= 1");
+        }
+
+        this.compactAfter = completedTasks;
+        return this;
+    }
+
+    public DurableRetryQueue onExhausted(BiConsumer<DurableTask, Throwable> onExhausted) {
+        this.onExhausted = Objects.requireNonNull(onExhausted, "onExhausted");
+        return this;
+    }
+
+    public long submit(String handlerId, byte[] payload) {
+        Objects.requireNonNull(handlerId, "handlerId");
+        Objects.requireNonNull(payload, "payload");
+
+        DurableTask task = new DurableTask(nextTaskId.getAndIncrement(), handlerId, payload.clone(), 0, null, System.currentTimeMillis());
+        track(encodeSubmit(task), task);
+
+        return task.taskId();
+    }
+
+    public long submit(String handlerId, Serializable payload) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return submit(handlerId, bytes.toByteArray());
+    }
+
+    public synchronized void start(int workerThreads) {
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("workerThreads >= 1");
+        }
+
+        for (int i = 0; i < workerThreads; i++) {
+            Thread worker = new Thread(this::workLoop, "flexretry-durable-" + workers.size());
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public int pending() {
+        return live.size();
+    }
+
+    public void flush() {
+        synchronized (logLock) {
+            ensureOpen();
+            log.force();
+            unsynced = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        synchronized (logLock) {
+            closed = true;
+            log.close();
+        }
+    }
+
+    private void workLoop() {
+        while (running) {
+            DurableTask task;
+
+            try {
+                task = due.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ie) {
+                continue; // close() or a stray interrupt: "running" decides
+            }
+
+            if (task == null) {
+                flushIdle();
+                continue;
+            }
+
+            try {
+                runTask(task);
+            } catch (Throwable logFailure) {
+                // The log refused the outcome; the task is still pending there and resumes on the next open
+            }
+        }
+    }
+
+    private void runTask(DurableTask task) {
+        int attempt = task.attempts() + 1;
+        RetryContext<Void> ctx = new RetryContext<>(task.handlerId(), String.valueOf(task.taskId()),
+                attempt, maxAttempts, null, null, Duration.ZERO,
+                task.lastErrorClass() == null ? Map.of() : Map.of("lastErrorClass", task.lastErrorClass()));
+
+        DurableRetryHandler handler = handlers.get(task.handlerId());
+        Throwable error = null;
+
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("No handler registered for " + task.handlerId());
+            }
+
+            handler.handle(task.rawPayload(), ctx);
+        } catch (Throwable t) {
+            error = t;
+        }
+
+        if (error == null) {
+            complete(task);
+            return;
+        }
+
+        if (!running || isInterruption(error) || Thread.interrupted()) {
+            // Shutdown, not a failure: write nothing so the attempt is not spent
+            if (running) {
+                due.add(task);
+            }
+
+            return;
+        }
+
+        if (attempt >= maxAttempts) {
+            complete(task);
+
+            try {
+                onExhausted.accept(task.failed(error.getClass().getName(), task.dueAtMillis()), error);
+            } catch (Throwable ignore) {
+            }
+
+            return;
+        }
+
+        long delayMillis = Math.max(0L, backoff.delayForAttempt(attempt).toMillis());
+        DurableTask next = task.failed(error.getClass().getName(), System.currentTimeMillis() + delayMillis);
+
+        track(encodeReschedule(next), next);
+    }
+
+    private static boolean isInterruption(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException || t instanceof InterruptedIOException || t instanceof ClosedByInterruptException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void complete(DurableTask task) {
+        boolean compact;
+
+        synchronized (logLock) {
+            appendLocked(encodeComplete(task.taskId()));
+            live.remove(task.taskId());
+            completedSinceCompaction++;
+            compact = completedSinceCompaction >= compactAfter && completedSinceCompaction > live.size();
+        }
+
+        if (compact) {
+            compact();
+        }
+    }
+
+    private void track(byte[] record, DurableTask task) {
+        // Log and live state change together so compaction never snapshots a stale task
+        synchronized (logLock) {
+            appendLocked(record);
+            live.put(task.taskId(), task);
+        }
+
+        due.add(task);
+    }
+
+    private void flushIdle() {
+        synchronized (logLock) {
+            if (!closed && unsynced > 0) {
+                log.force();
+                unsynced = 0;
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("DurableRetryQueue is closed");
+        }
+    }
+
+    private void appendLocked(byte[] record) {
+        ensureOpen();
+
+        try {
+            log.append(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (++unsynced >= syncEvery) {
+            log.force();
+            unsynced = 0;
+        }
+    }
+
+    private void compact() {
+        synchronized (logLock) {
+            Path compactFile = dir.resolve(COMPACT_FILE);
+
+            try {
+                Files.deleteIfExists(compactFile);
+
+                try (AppendOnlyLog compacted = new AppendOnlyLog(compactFile, CHUNK_SIZE)) {
+                    compacted.replay(record -> {
+                    });
+
+                    for (DurableTask task : live.values()) {
+                        compacted.append(encodeSubmit(task));
+                    }
+                }
+
+                log.close();
+                Files.move(compactFile, dir.resolve(LOG_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                log = new AppendOnlyLog(dir.resolve(LOG_FILE), CHUNK_SIZE);
+                log.replay(record -> {
+                });
+
+                completedSinceCompaction = 0;
+                unsynced = 0;
+
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        Files.deleteIfExists(dir.resolve(COMPACT_FILE));
+
+        log = new AppendOnlyLog(dir.resolve(LOG_FILE), CHUNK_SIZE);
+        log.replay(this::applyRecord);
+
+        long maxId = 0;
+        for (DurableTask task : live.values()) {
+            maxId = Math.max(maxId, task.taskId());
+            due.add(task);
+        }
+
+        nextTaskId.set(Math.max(nextTaskId.get(), maxId + 1));
+    }
+
+    private void applyRecord(ByteBuffer record) {
+        byte type = record.get();
+        long taskId = record.getLong();
+        nextTaskId.set(Math.max(nextTaskId.get(), taskId + 1));
+
+        if (type == SUBMIT) {
+            String handlerId = readString(record);
+            int attempts = record.getInt();
+            String lastErrorClass = readString(record);
+            long dueAt = record.getLong();
+            byte[] payload = new byte[record.getInt()];
+            record.get(payload);
+
+            live.put(taskId, new DurableTask(taskId, handlerId, payload, attempts, lastErrorClass, dueAt));
+
+        } else if (type == RESCHEDULE) {
+            int attempts = record.getInt();
+            String lastErrorClass = readString(record);
+            long dueAt = record.getLong();
+
+            live.computeIfPresent(taskId, (id, task) ->
+                    new DurableTask(id, task.handlerId(), task.rawPayload(), attempts, lastErrorClass, dueAt));
+
+        } else if (type == COMPLETE) {
+            live.remove(taskId);
+        }
+    }
+
+    private static byte[] encodeSubmit(DurableTask task) {
+        return encode(out -> {
+            out.writeByte(SUBMIT);
+            out.writeLong(task.taskId());
+            writeString(out, task.handlerId());
+            out.writeInt(task.attempts());
+            writeString(out, task.lastErrorClass());
+            out.writeLong(task.dueAtMillis());
+            out.writeInt(task.rawPayload().length);
+            out.write(task.rawPayload());
+        });
+    }
+
+    private static byte[] encodeReschedule(DurableTask task) {
+        return encode(out -> {
+            out.writeByte(RESCHEDULE);
+            out.writeLong(task.taskId());
+            out.writeInt(task.attempts());
+            writeString(out, task.lastErrorClass());
+            out.writeLong(task.dueAtMillis());
+        });
+    }
+
+    private static byte[] encodeComplete(long taskId) {
+        return encode(out -> {
+            out.writeByte(COMPLETE);
+            out.writeLong(taskId);
+        });
+    }
+
+    private static byte[] encode(RecordWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
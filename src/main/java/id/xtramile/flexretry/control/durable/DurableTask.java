@@ -0,0 +1,71 @@
+package id.xtramile.flexretry.control.durable;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persisted state of a queued task: attempts done so far, last error class and next due time.
+ */
+public final class DurableTask implements Delayed {
+    private final long taskId;
+    private final String handlerId;
+    private final byte[] payload;
+    private final int attempts;
+    private final String lastErrorClass;
+    private final long dueAtMillis;
+
+    DurableTask(long taskId, String handlerId, byte[] payload, int attempts, String lastErrorClass, long dueAtMillis) {
+        this.taskId = taskId;
+        this.handlerId = handlerId;
+        this.payload = payload;
+        this.attempts = attempts;
+        this.lastErrorClass = lastErrorClass;
+        this.dueAtMillis = dueAtMillis;
+    }
+
+    DurableTask failed(String errorClass, long nextDueAtMillis) {
+        return new DurableTask(taskId, handlerId, payload, attempts + 1, errorClass, nextDueAtMillis);
+    }
+
+    public long taskId() {
+        return taskId;
+    }
+
+    public String handlerId() {
+        return handlerId;
+    }
+
+    public byte[] payload() {
+        return payload.clone();
+    }
+
+    byte[] rawPayload() {
+        return payload;
+    }
+
+    public int attempts() {
+        return attempts;
+    }
+
+    public String lastErrorClass() {
+        return lastErrorClass;
+    }
+
+    public long dueAtMillis() {
+        return dueAtMillis;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (other instanceof DurableTask) {
+            return Long.compare(dueAtMillis, ((DurableTask) other).dueAtMillis);
+        }
+
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,165 @@
+package id.xtramile.flexretry.control.health;
+
+import id.xtramile.flexretry.Sleeper;
+import id.xtramile.flexretry.control.breaker.CircuitState;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sleeper whose backoffs end early when the dependency recovers. A recovery signal releases the
+ * retries sleeping at that moment in a trickle of "releasesPerSecond" rather than all at once, so
+ * recovery does not turn into a thundering herd. Retries that start sleeping after the signal
+ * keep their full backoff.
+ */
+public final class RecoverySleeper implements Sleeper {
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final long releaseEveryNanos;
+    private final AtomicBoolean trickling = new AtomicBoolean();
+    private final AtomicLong signals = new AtomicLong();
+
+    // confined to the timer thread
+    private long servedSignals;
+
+    public RecoverySleeper(int releasesPerSecond) {
+        if (releasesPerSecond < 1) {
+            throw new IllegalArgumentException("releasesPerSecond >= 1");
+        }
+
+        this.releaseEveryNanos = Math.max(1L, TimeUnit.SECONDS.toNanos(1) / releasesPerSecond);
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "flexretry-recovery");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+
+        return timer;
+    }
+
+    @Override
+    public void sleep(Duration duration) throws InterruptedException {
+        long nanos = duration.toNanos();
+
+        if (nanos <= 0) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + nanos;
+        Waiter waiter = new Waiter(Thread.currentThread(), signals.get());
+        waiters.add(waiter);
+
+        try {
+            while (!waiter.released) {
+                long left = deadline - System.nanoTime();
+
+                if (left <= 0) {
+                    return;
+                }
+
+                LockSupport.parkNanos(this, left);
+
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            waiters.remove(waiter);
+        }
+    }
+
+    /**
+     * Starts releasing the current sleepers one by one at the configured pace.
+     */
+    public void signalRecovery() {
+        signals.incrementAndGet();
+
+        if (trickling.compareAndSet(false, true)) {
+            TIMER.execute(this::releaseOne);
+        }
+    }
+
+    /**
+     * Polls "probe" and signals recovery whenever it moves back to UP.
+     */
+    public ScheduledFuture<?> watch(HealthProbe probe, Duration pollEvery) {
+        Objects.requireNonNull(probe, "probe");
+        long period = Math.max(1L, pollEvery.toNanos());
+        AtomicReference<HealthProbe.State> last = new AtomicReference<>(probe.state());
+
+        return TIMER.scheduleAtFixedRate(() -> {
+            HealthProbe.State now = probe.state();
+            HealthProbe.State before = last.getAndSet(now);
+
+            if (now == HealthProbe.State.UP && before != HealthProbe.State.UP) {
+                signalRecovery();
+            }
+        }, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Circuit breaker state listener; signals recovery when the breaker closes.
+     */
+    public void onBreakerStateChange(CircuitState from, CircuitState to) {
+        if (to == CircuitState.CLOSED && from != CircuitState.CLOSED) {
+            signalRecovery();
+        }
+    }
+
+    /**
+     * Retries currently sleeping.
+     */
+    public int sleeping() {
+        return waiters.size();
+    }
+
+    /**
+     * One trickle tick on the timer thread; reschedules itself while sleepers that predate the
+     * latest signal remain to be released.
+     */
+    private void releaseOne() {
+        servedSignals = signals.get();
+
+        for (Waiter waiter : waiters) {
+            if (!waiter.released && waiter.generation < servedSignals) {
+                waiter.released = true;
+                LockSupport.unpark(waiter.thread);
+                TIMER.schedule(this::releaseOne, releaseEveryNanos, TimeUnit.NANOSECONDS);
+                return;
+            }
+        }
+
+        // nobody left to release: stop, unless a signal arrived after this tick looked at the waiters
+        trickling.set(false);
+
+        if (signals.get() != servedSignals && trickling.compareAndSet(false, true)) {
+            TIMER.execute(this::releaseOne);
+        }
+    }
+
+    private static final class Waiter {
+        final Thread thread;
+        // Signals seen when the sleep began; only later signals release it
+        final long generation;
+        volatile boolean released;
+
+        Waiter(Thread thread, long generation) {
+            this.thread = thread;
+            this.generation = generation;
+        }
+    }
+}
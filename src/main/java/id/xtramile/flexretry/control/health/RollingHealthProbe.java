@@ -0,0 +1,291 @@
+package id.xtramile.flexretry.control.health;
+
+import id.xtramile.flexretry.control.tuning.LiveTuning;
+import id.xtramile.flexretry.control.tuning.MutableTuning;
+import id.xtramile.flexretry.observability.events.RetryEvent;
+import id.xtramile.flexretry.observability.events.RetryEventBus;
+import id.xtramile.flexretry.support.time.Clock;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Health per retry name from the rolling success rate and mean latency of recent executions
+ * (one final outcome per run, not every attempt), kept in lock-free time buckets and fed by a
+ * {@link RetryEventBus}. States are re-evaluated against the clock on every record and query,
+ * so a name recovers once its failures age out of the window. {@link #state()} reports the
+ * worst state across names.
+ */
+public final class RollingHealthProbe implements HealthProbe {
+    private final long bucketNanos;
+    private final int bucketCount;
+    private final int minimumCalls;
+    private final double degradedSuccessRate;
+    private final double downSuccessRate;
+    private final long degradedLatencyNanos;
+    private final Clock clock;
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final List<StateListener> listeners = new CopyOnWriteArrayList<>();
+
+    private RollingHealthProbe(Builder builder) {
+        this.bucketCount = builder.buckets;
+        this.bucketNanos = Math.max(1L, builder.window.toNanos() / builder.buckets);
+        this.minimumCalls = builder.minimumCalls;
+        this.degradedSuccessRate = builder.degradedSuccessRate;
+        this.downSuccessRate = builder.downSuccessRate;
+        this.degradedLatencyNanos = builder.degradedLatency == null ? Long.MAX_VALUE : builder.degradedLatency.toNanos();
+        this.clock = builder.clock;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    private static int severity(State state) {
+        return state.ordinal();
+    }
+
+    /**
+     * Feeds the probe from the execution outcomes published on "bus" (success, failure, exhaustion).
+     * Subscribes past the bus's sampler, so sampled-out successes still count.
+     */
+    public <T> void attach(RetryEventBus<T> bus) {
+        bus.subscribeUnsampled(EnumSet.of(RetryEvent.Type.ATTEMPT_SUCCEEDED, RetryEvent.Type.ATTEMPT_FAILED, RetryEvent.Type.EXHAUSTED), event -> {
+            String name = event.context() == null ? null : event.context().name();
+            record(name == null ? "retry" : name, event.type() == RetryEvent.Type.ATTEMPT_SUCCEEDED, event.latencyNanos());
+        });
+    }
+
+    public void record(String name, boolean success, long latencyNanos) {
+        Series s = series.computeIfAbsent(name, n -> new Series());
+        s.record(success, latencyNanos, clock.nanoTime());
+        refresh(name, s);
+    }
+
+    @Override
+    public State state() {
+        State worst = State.UP;
+
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            State current = refresh(entry.getKey(), entry.getValue());
+
+            if (severity(current) > severity(worst)) {
+                worst = current;
+            }
+        }
+
+        return worst;
+    }
+
+    public State state(String name) {
+        Series s = series.get(name);
+        return s == null ? State.UP : refresh(name, s);
+    }
+
+    public void onStateChange(StateListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * Applies "tuning" to "target" now and again whenever the state of "name" changes,
+     * so configs sharing "target" follow the dependency's health live.
+     */
+    public void bind(String name, LiveTuning tuning, MutableTuning target) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(tuning, "tuning");
+        Objects.requireNonNull(target, "target");
+
+        onStateChange((changed, from, to) -> {
+            if (name.equals(changed)) {
+                applyCurrent(name, tuning, target);
+            }
+        });
+
+        state(name);
+        applyCurrent(name, tuning, target);
+    }
+
+    /**
+     * Applies the state stored now rather than a listener's "to": notifications of racing
+     * transitions may arrive out of order, but the last apply always sees the latest state.
+     */
+    private void applyCurrent(String name, LiveTuning tuning, MutableTuning target) {
+        synchronized (target) {
+            Series s = series.get(name);
+            tuning.apply(s == null ? State.UP : s.state.get(), target);
+        }
+    }
+
+    /**
+     * Re-evaluates "s" against the clock, publishing a transition only from the thread whose CAS made it.
+     */
+    private State refresh(String name, Series s) {
+        for (; ; ) {
+            State previous = s.state.get();
+            State next = s.evaluate(clock.nanoTime());
+
+            if (previous == next) {
+                return next;
+            }
+
+            if (s.state.compareAndSet(previous, next)) {
+                for (StateListener listener : listeners) {
+                    try {
+                        listener.onStateChange(name, previous, next);
+                    } catch (Throwable ignore) {
+                    }
+                }
+
+                return next;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface StateListener {
+        void onStateChange(String name, State from, State to);
+    }
+
+    private final class Series {
+        final AtomicLong[] epochs = new AtomicLong[bucketCount];
+        final AtomicLong[] successes = new AtomicLong[bucketCount];
+        final AtomicLong[] failures = new AtomicLong[bucketCount];
+        final AtomicLong[] latencies = new AtomicLong[bucketCount];
+        final AtomicReference<State> state = new AtomicReference<>(State.UP);
+
+        Series() {
+            for (int i = 0; i < bucketCount; i++) {
+                epochs[i] = new AtomicLong(Long.MIN_VALUE);
+                successes[i] = new AtomicLong();
+                failures[i] = new AtomicLong();
+                latencies[i] = new AtomicLong();
+            }
+        }
+
+        void record(boolean success, long latencyNanos, long nowNanos) {
+            long epoch = Math.floorDiv(nowNanos, bucketNanos);
+            int index = (int) Math.floorMod(epoch, (long) bucketCount);
+            long seen = epochs[index].get();
+
+            if (seen < epoch && epochs[index].compareAndSet(seen, epoch)) {
+                successes[index].set(0);
+                failures[index].set(0);
+                latencies[index].set(0);
+            }
+
+            (success ? successes : failures)[index].incrementAndGet();
+            latencies[index].addAndGet(Math.max(0L, latencyNanos));
+        }
+
+        State evaluate(long nowNanos) {
+            long epoch = Math.floorDiv(nowNanos, bucketNanos);
+            long ok = 0;
+            long failed = 0;
+            long latency = 0;
+
+            for (int i = 0; i < bucketCount; i++) {
+                long bucketEpoch = epochs[i].get();
+
+                if (bucketEpoch <= epoch && bucketEpoch > epoch - bucketCount) {
+                    ok += successes[i].get();
+                    failed += failures[i].get();
+                    latency += latencies[i].get();
+                }
+            }
+
+            long total = ok + failed;
+
+            if (total < minimumCalls) {
+                return State.UP;
+            }
+
+            double successRate = (double) ok / total;
+
+            if (successRate < downSuccessRate) {
+                return State.DOWN;
+            }
+
+            if (successRate < degradedSuccessRate || latency / total > degradedLatencyNanos) {
+                return State.DEGRADED;
+            }
+
+            return State.UP;
+        }
+    }
+
+    public static final class Builder {
+        private Duration window = Duration.ofSeconds(60);
+        private int buckets = 12;
+        private int minimumCalls = 20;
+        private double degradedSuccessRate = 0.95;
+        private double downSuccessRate = 0.5;
+        private Duration degradedLatency = null;
+        private Clock clock = Clock.system();
+
+        private Builder() {
+        }
+
+        public Builder window(Duration window, int buckets) {
+            Objects.requireNonNull(window, "window");
+
+            if (window.isZero() || window.isNegative()) {
+                throw new IllegalArgumentException("window > 0");
+            }
+
+            if (buckets < 1) {
+                throw new IllegalArgumentException("buckets >= 1");
+            }
+
+            this.window = window;
+            this.buckets = buckets;
+            return this;
+        }
+
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls < 1) {
+                throw new IllegalArgumentException("minimumCalls >= 1");
+            }
+
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Success rates (0..1) below which a name is DEGRADED and DOWN.
+         */
+        public Builder successRates(double degradedBelow, double downBelow) {
+            if (downBelow < 0.0 || downBelow > degradedBelow || degradedBelow > 1.0) {
+                throw new IllegalArgumentException("0 <= downBelow <= degradedBelow <= 1");
+            }
+
+            this.degradedSuccessRate = degradedBelow;
+            this.downSuccessRate = downBelow;
+            return this;
+        }
+
+        /**
+         * Mean execution latency above which a name is DEGRADED.
+         */
+        public Builder degradedLatency(Duration latency) {
+            this.degradedLatency = latency;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock");
+            return this;
+        }
+
+        public RollingHealthProbe build() {
+            return new RollingHealthProbe(this);
+        }
+    }
+}
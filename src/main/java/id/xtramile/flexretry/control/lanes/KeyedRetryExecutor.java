@@ -0,0 +1,180 @@
+package id.xtramile.flexretry.control.lanes;
+
+import id.xtramile.flexretry.AsyncRetryExecutor;
+import id.xtramile.flexretry.config.RetryConfig;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs tasks in a serial lane per key: tasks of one key complete in submission order,
+ * while a key that is backing off parks only its own lane and other keys keep flowing.
+ * The lane head runs through an {@link AsyncRetryExecutor}; the next task of the key starts
+ * only once the head's future has settled. Lanes are bounded and removed once they drain.
+ */
+public final class KeyedRetryExecutor<K, T> {
+    private final AsyncRetryExecutor<T> async;
+    private final Executor executor;
+    private final int laneCapacity;
+    private final Map<K, Lane<K, T>> lanes = new ConcurrentHashMap<>();
+
+    public KeyedRetryExecutor(RetryConfig<T> config, Executor executor, ScheduledExecutorService timer, int laneCapacity) {
+        if (laneCapacity < 1) {
+            throw new IllegalArgumentException("laneCapacity >= 1");
+        }
+
+        this.async = new AsyncRetryExecutor<>(config, timer, executor);
+        this.executor = executor;
+        this.laneCapacity = laneCapacity;
+    }
+
+    /**
+     * Queues "task" behind earlier tasks of the same key. The future fails with
+     * {@link RejectedExecutionException} when the lane is full.
+     */
+    public CompletableFuture<T> submit(K key, Callable<T> task) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(task, "task");
+
+        for (; ; ) {
+            Lane<K, T> lane = lanes.computeIfAbsent(key, Lane::new);
+            int size = lane.size.incrementAndGet();
+
+            if (size < 0) {
+                // Lane is being retired by its drainer; wait for it to leave the map
+                Thread.onSpinWait();
+                continue;
+            }
+
+            if (size > laneCapacity) {
+                lane.size.decrementAndGet();
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Lane full for key " + key));
+            }
+
+            Item<T> item = new Item<>(task);
+            lane.queue.add(item);
+
+            if (lane.active.compareAndSet(false, true)) {
+                start(lane);
+            }
+
+            return item.future;
+        }
+    }
+
+    /**
+     * Number of keys with queued or retrying tasks.
+     */
+    public int activeLanes() {
+        return lanes.size();
+    }
+
+    /**
+     * Hands the lane, now owned by the caller, to the executor. If the executor rejects it, the
+     * queued tasks fail with the rejection and the lane is released instead of staying wedged.
+     */
+    private void start(Lane<K, T> lane) {
+        for (; ; ) {
+            try {
+                executor.execute(() -> drain(lane));
+                return;
+            } catch (RejectedExecutionException e) {
+                for (Item<T> item = lane.queue.poll(); item != null; item = lane.queue.poll()) {
+                    lane.size.decrementAndGet();
+                    item.future.completeExceptionally(e);
+                }
+            }
+
+            lane.active.set(false);
+
+            if (lane.size.compareAndSet(0, Integer.MIN_VALUE)) {
+                lanes.remove(lane.key, lane);
+                return;
+            }
+
+            // A submitter raced us; whoever flips "active" owns the lane
+            if (lane.queue.peek() == null || !lane.active.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void drain(Lane<K, T> lane) {
+        for (; ; ) {
+            Item<T> head = lane.queue.peek();
+
+            if (head == null) {
+                lane.active.set(false);
+
+                if (lane.size.compareAndSet(0, Integer.MIN_VALUE)) {
+                    lanes.remove(lane.key, lane);
+                    return;
+                }
+
+                // A submitter raced us; whoever flips "active" owns the lane
+                if (lane.queue.peek() == null || !lane.active.compareAndSet(false, true)) {
+                    return;
+                }
+
+                continue;
+            }
+
+            CompletableFuture<T> run = async.run(head.task);
+
+            if (run.isDone()) {
+                // Settled without waiting (e.g. rejected by the breaker): runs inline, keep looping
+                run.whenComplete((result, error) -> finish(lane, head, result, error));
+                continue;
+            }
+
+            // Parked until the head's retries settle; its completion re-enters the lane
+            run.whenComplete((result, error) -> {
+                finish(lane, head, result, error);
+                drain(lane);
+            });
+            return;
+        }
+    }
+
+    private void finish(Lane<K, T> lane, Item<T> item, T result, Throwable error) {
+        if (error == null) {
+            item.future.complete(result);
+        } else {
+            item.future.completeExceptionally(error);
+        }
+
+        lane.queue.poll();
+        lane.size.decrementAndGet();
+    }
+
+    private static final class Lane<K, T> {
+        final K key;
+        final Queue<Item<T>> queue = new ConcurrentLinkedQueue<>();
+        // Queued items including the head in flight; Integer.MIN_VALUE once retired
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicBoolean active = new AtomicBoolean();
+
+        Lane(K key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Item<T> {
+        final Callable<T> task;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Item(Callable<T> task) {
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package id.xtramile.flexretry.control.scope;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Deadline and nesting depth propagated from an outer retry to retries running inside its task,
+ * so nested layers don't multiply attempts or outlive the outer deadline.
+ * Disabled by default; while disabled the executor pays a single volatile read.
+ */
+public final class RetryScope {
+    private static final ThreadLocal<RetryScope> CURRENT = new ThreadLocal<>();
+    private static final IntUnaryOperator OUTERMOST_ONLY = depth -> depth == 0 ? Integer.MAX_VALUE : 1;
+
+    // null = propagation disabled
+    private static volatile IntUnaryOperator attemptsAtDepth;
+
+    private final long deadlineNanos;
+    private final int depth;
+
+    private RetryScope(long deadlineNanos, int depth) {
+        this.deadlineNanos = deadlineNanos;
+        this.depth = depth;
+    }
+
+    /**
+     * Enables propagation; only the outermost retry retries, nested ones get a single attempt.
+     */
+    public static void enable() {
+        enable(OUTERMOST_ONLY);
+    }
+
+    /**
+     * Enables propagation with a custom limit: depth (0 = outermost) to max attempts.
+     */
+    public static void enable(IntUnaryOperator attemptsAtDepth) {
+        RetryScope.attemptsAtDepth = Objects.requireNonNull(attemptsAtDepth, "attemptsAtDepth");
+    }
+
+    public static void disable() {
+        attemptsAtDepth = null;
+    }
+
+    public static boolean isEnabled() {
+        return attemptsAtDepth != null;
+    }
+
+    /**
+     * Scope of the retry whose task is running on this thread, or null.
+     */
+    public static RetryScope current() {
+        return attemptsAtDepth == null ? null : CURRENT.get();
+    }
+
+    /**
+     * Max attempts for a retry started inside "outer" (null = outermost).
+     */
+    public static int maxAttemptsWithin(RetryScope outer) {
+        IntUnaryOperator limit = attemptsAtDepth;
+        return limit == null ? Integer.MAX_VALUE : limit.applyAsInt(outer == null ? 0 : outer.depth);
+    }
+
+    /**
+     * Scope for the task of an attempt started inside "outer" with "remainingNanos" left.
+     */
+    public static RetryScope nested(RetryScope outer, long remainingNanos) {
+        long deadline = remainingNanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + Math.max(0L, remainingNanos);
+
+        if (outer != null) {
+            deadline = Math.min(deadline, outer.deadlineNanos);
+        }
+
+        return new RetryScope(deadline, outer == null ? 1 : outer.depth + 1);
+    }
+
+    /**
+     * Captures the current scope into "task" for an async hop.
+     */
+    public static Runnable wrap(Runnable task) {
+        RetryScope scope = current();
+
+        if (scope == null) {
+            return task;
+        }
+
+        return () -> {
+            RetryScope previous = CURRENT.get();
+            CURRENT.set(scope);
+
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static <V> Callable<V> wrap(Callable<V> task) {
+        RetryScope scope = current();
+        return scope == null ? task : scope.bind(task);
+    }
+
+    /**
+     * Executor that runs every task in the scope current at submission time.
+     */
+    public static Executor wrap(Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        return command -> executor.execute(wrap(command));
+    }
+
+    private static void restore(RetryScope previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public <V> Callable<V> bind(Callable<V> task) {
+        return () -> {
+            RetryScope previous = CURRENT.get();
+            CURRENT.set(this);
+
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public boolean hasDeadline() {
+        return deadlineNanos != Long.MAX_VALUE;
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos == Long.MAX_VALUE ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
+    }
+}
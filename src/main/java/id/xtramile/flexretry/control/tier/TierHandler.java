@@ -0,0 +1,9 @@
+package id.xtramile.flexretry.control.tier;
+
+/**
+ * Retries one item; throwing sends it to the tier of the next attempt.
+ */
+@FunctionalInterface
+public interface TierHandler<E> {
+    void handle(E item, int attempt) throws Exception;
+}
@@ -0,0 +1,266 @@
+package id.xtramile.flexretry.control.tier;
+
+import id.xtramile.flexretry.strategy.backoff.BackoffStrategy;
+import id.xtramile.flexretry.support.time.Clock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * In-process retry topics: failed items wait in fixed-delay tiers (e.g. 1s, 10s, 60s).
+ * Every item in a tier shares the same delay, so each tier is a plain FIFO with O(1)
+ * enqueue/dequeue and its head is always the next item due.
+ * The tier of an attempt is the smallest tier not shorter than the backoff for that attempt.
+ */
+public final class TieredDelayQueue<E> implements AutoCloseable {
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final long[] tierNanos;
+    private final List<Queue<Entry<E>>> tiers = new ArrayList<>();
+    private final AtomicInteger[] depths;
+    private final BackoffStrategy backoff;
+    private final int maxAttempts;
+    private final TierHandler<E> handler;
+    private final Clock clock;
+    private final ExecutorService workers;
+    private final Thread scheduler;
+
+    private volatile BiConsumer<E, Throwable> onExhausted = (item, error) -> {
+    };
+    private volatile boolean running = true;
+
+    public TieredDelayQueue(List<Duration> tierDelays, BackoffStrategy backoff, int maxAttempts,
+                            TierHandler<E> handler, int workerThreads) {
+        this(tierDelays, backoff, maxAttempts, handler, workerThreads, Clock.system());
+    }
+
+    public TieredDelayQueue(List<Duration> tierDelays, BackoffStrategy backoff, int maxAttempts,
+                            TierHandler<E> handler, int workerThreads, Clock clock) {
+        if (tierDelays == null || tierDelays.isEmpty()) {
+            throw new IllegalArgumentException("at least one tier is required");
+        }
+
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts >= 1");
+        }
+
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("workerThreads >= 1");
+        }
+
+        this.tierNanos = new long[tierDelays.size()];
+        this.depths = new AtomicInteger[tierDelays.size()];
+
+        for (int i = 0; i < tierNanos.length; i++) {
+            Duration delay = tierDelays.get(i);
+
+            if (delay == null || delay.isNegative()) {
+                throw new IllegalArgumentException("tier delay must be >= 0");
+            }
+
+            if (i > 0 && delay.toNanos() <= tierNanos[i - 1]) {
+                throw new IllegalArgumentException("tier delays must be strictly increasing");
+            }
+
+            tierNanos[i] = delay.toNanos();
+            tiers.add(new ConcurrentLinkedQueue<>());
+            depths[i] = new AtomicInteger();
+        }
+
+        this.backoff = Objects.requireNonNull(backoff, "backoff");
+        this.maxAttempts = maxAttempts;
+        this.handler = Objects.requireNonNull(handler, "handler");
+        this.clock = clock == null ? Clock.system() : clock;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "flexretry-tier-worker-" + threadIds.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.scheduler = new Thread(this::scheduleLoop, "flexretry-tier-scheduler");
+        this.scheduler.setDaemon(true);
+        this.scheduler.start();
+    }
+
+    public TieredDelayQueue<E> onExhausted(BiConsumer<E, Throwable> onExhausted) {
+        this.onExhausted = Objects.requireNonNull(onExhausted, "onExhausted");
+        return this;
+    }
+
+    /**
+     * Queues an item whose attempt "failedAttempt" just failed; it is retried as attempt failedAttempt + 1.
+     *
+     * @throws IllegalStateException once the queue is closed
+     */
+    public void enqueue(E item, int failedAttempt) {
+        if (failedAttempt < 1) {
+            throw new IllegalArgumentException("failedAttempt >= 1");
+        }
+
+        ensureOpen();
+
+        if (failedAttempt >= maxAttempts) {
+            notifyExhausted(item, null);
+            return;
+        }
+
+        int tier = tierFor(failedAttempt);
+        long now = clock.nanoTime();
+        Entry<E> entry = new Entry<>(item, failedAttempt + 1, now, now + tierNanos[tier]);
+
+        depths[tier].incrementAndGet();
+        tiers.get(tier).add(entry);
+
+        // Raced with close(): whoever removes the entry owns it, so it is never left behind silently
+        if (!running && tiers.get(tier).remove(entry)) {
+            depths[tier].decrementAndGet();
+            ensureOpen();
+        }
+
+        LockSupport.unpark(scheduler);
+    }
+
+    public int tierFor(int attempt) {
+        long delay = Math.max(0L, backoff.delayForAttempt(attempt).toNanos());
+
+        for (int i = 0; i < tierNanos.length; i++) {
+            if (tierNanos[i] >= delay) {
+                return i;
+            }
+        }
+
+        return tierNanos.length - 1;
+    }
+
+    public int tierCount() {
+        return tierNanos.length;
+    }
+
+    public int depth(int tier) {
+        return depths[tier].get();
+    }
+
+    public Duration oldestItemAge(int tier) {
+        Entry<E> head = tiers.get(tier).peek();
+        return head == null ? Duration.ZERO : Duration.ofNanos(Math.max(0L, clock.nanoTime() - head.enqueuedNanos));
+    }
+
+    /**
+     * Stops scheduling and rejects further enqueues. Items still waiting in a tier are reported to
+     * onExhausted with a {@link RejectedExecutionException}; runs already dispatched finish.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(scheduler);
+
+        try {
+            scheduler.join();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+
+        RejectedExecutionException closed = new RejectedExecutionException("TieredDelayQueue is closed");
+
+        for (int i = 0; i < tierNanos.length; i++) {
+            for (Entry<E> entry = tiers.get(i).poll(); entry != null; entry = tiers.get(i).poll()) {
+                depths[i].decrementAndGet();
+                notifyExhausted(entry.item, closed);
+            }
+        }
+
+        workers.shutdown();
+    }
+
+    private void ensureOpen() {
+        if (!running) {
+            throw new IllegalStateException("TieredDelayQueue is closed");
+        }
+    }
+
+    private void scheduleLoop() {
+        while (running) {
+            long now = clock.nanoTime();
+            long parkNanos = MAX_PARK_NANOS;
+
+            for (int i = 0; i < tierNanos.length; i++) {
+                Queue<Entry<E>> tier = tiers.get(i);
+
+                for (Entry<E> head = tier.peek(); head != null; head = tier.peek()) {
+                    long wait = head.dueNanos - now;
+
+                    if (wait > 0) {
+                        parkNanos = Math.min(parkNanos, wait);
+                        break;
+                    }
+
+                    tier.poll();
+                    depths[i].decrementAndGet();
+                    dispatch(head);
+                }
+            }
+
+            LockSupport.parkNanos(this, parkNanos);
+        }
+    }
+
+    private void dispatch(Entry<E> entry) {
+        try {
+            workers.execute(() -> run(entry));
+        } catch (RejectedExecutionException e) {
+            notifyExhausted(entry.item, e);
+        }
+    }
+
+    private void run(Entry<E> entry) {
+        try {
+            handler.handle(entry.item, entry.attempt);
+
+        } catch (Throwable error) {
+            if (entry.attempt >= maxAttempts || !running) {
+                notifyExhausted(entry.item, error);
+                return;
+            }
+
+            try {
+                enqueue(entry.item, entry.attempt);
+            } catch (IllegalStateException closed) {
+                notifyExhausted(entry.item, error);
+            }
+        }
+    }
+
+    private void notifyExhausted(E item, Throwable error) {
+        try {
+            onExhausted.accept(item, error);
+        } catch (Throwable ignore) {
+        }
+    }
+
+    private static final class Entry<E> {
+        final E item;
+        final int attempt;
+        final long enqueuedNanos;
+        final long dueNanos;
+
+        Entry(E item, int attempt, long enqueuedNanos, long dueNanos) {
+            this.item = item;
+            this.attempt = attempt;
+            this.enqueuedNanos = enqueuedNanos;
+            this.dueNanos = dueNanos;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package id.xtramile.flexretry.control.tuning;
+
+import id.xtramile.flexretry.control.health.HealthProbe;
+
+/**
+ * Live counterpart of {@link DynamicTuning}: adjusts a shared {@link MutableTuning} that running
+ * configs read, whenever a bound probe changes state.
+ */
+@FunctionalInterface
+public interface LiveTuning {
+    void apply(HealthProbe.State state, MutableTuning tuning);
+}
@@ -1,5 +1,7 @@
 package id.xtramile.flexretry.control.tuning;
 
+import id.xtramile.flexretry.strategy.backoff.BackoffStrategy;
+
 import java.time.Duration;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -7,6 +9,7 @@ import java.util.concurrent.atomic.AtomicReference;
 public final class MutableTuning {
     private final AtomicInteger maxAttempts = new AtomicInteger(3);
     private final AtomicReference<Duration> maxElapsed = new AtomicReference<>(null);
+    private final AtomicReference<BackoffStrategy> backoff = new AtomicReference<>(null);
 
     public int maxAttempts() {
         return maxAttempts.get();
@@ -23,4 +26,15 @@ public final class MutableTuning {
     public void setMaxElapsed(Duration value) {
         maxElapsed.set(value);
     }
+
+    /**
+     * Backoff overriding the config's own; null to use the config's.
+     */
+    public BackoffStrategy backoff() {
+        return backoff.get();
+    }
+
+    public void setBackoff(BackoffStrategy value) {
+        backoff.set(value);
+    }
 }
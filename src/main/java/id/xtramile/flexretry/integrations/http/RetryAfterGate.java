@@ -0,0 +1,158 @@
+package id.xtramile.flexretry.integrations.http;
+
+import id.xtramile.flexretry.RetryContext;
+import id.xtramile.flexretry.support.time.Clock;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Shared "do not call before" deadlines per key (e.g. host). When any execution sees a Retry-After,
+ * every execution for the same key holds its next attempt until the deadline passes.
+ * Deadlines live in a fixed-size open-addressed table updated by CAS; when a probe window is full
+ * the entry expiring first is evicted, so the gate never grows past its capacity.
+ */
+public final class RetryAfterGate {
+    private static final int PROBES = 8;
+
+    private final AtomicReferenceArray<Entry> table;
+    private final int mask;
+    private final Function<RetryContext<?>, String> keyFn;
+    private final Clock clock;
+
+    public RetryAfterGate(int maxKeys, Function<RetryContext<?>, String> keyFn) {
+        this(maxKeys, keyFn, Clock.system());
+    }
+
+    public RetryAfterGate(int maxKeys, Function<RetryContext<?>, String> keyFn, Clock clock) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("maxKeys >= 1");
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(PROBES, maxKeys) - 1) << 1;
+
+        this.table = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.keyFn = Objects.requireNonNull(keyFn, "keyFn");
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    /**
+     * Gate keyed by retry name.
+     */
+    public static RetryAfterGate byName(int maxKeys) {
+        return new RetryAfterGate(maxKeys, RetryContext::name);
+    }
+
+    private static int indexFor(String key, int mask) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Key for the execution, or null when it is not gated.
+     */
+    public String keyOf(RetryContext<?> ctx) {
+        try {
+            return keyFn.apply(ctx);
+        } catch (Throwable ignore) {
+            return null;
+        }
+    }
+
+    /**
+     * Holds calls for "key" for at least "retryAfter" from now; never shortens an existing deadline.
+     */
+    public void block(String key, Duration retryAfter) {
+        Objects.requireNonNull(key, "key");
+
+        if (retryAfter == null || retryAfter.isNegative() || retryAfter.isZero()) {
+            return;
+        }
+
+        long now = clock.nanoTime();
+        long deadline = now + retryAfter.toNanos();
+        int start = indexFor(key, mask);
+
+        for (; ; ) {
+            int victim = -1;
+            Entry victimSeen = null;
+            long victimDeadline = Long.MAX_VALUE;
+            boolean retry = false;
+
+            for (int i = 0; i < PROBES; i++) {
+                int index = (start + i) & mask;
+                Entry e = table.get(index);
+
+                if (e != null && e.key.equals(key)) {
+                    if (e.deadlineNanos >= deadline || table.compareAndSet(index, e, new Entry(key, deadline))) {
+                        return;
+                    }
+
+                    retry = true;
+                    break;
+                }
+
+                // free or expired slots are preferred, otherwise the entry expiring first
+                long rank = e == null ? Long.MIN_VALUE : (e.deadlineNanos - now <= 0 ? Long.MIN_VALUE + 1 : e.deadlineNanos - now);
+                if (victim < 0 || rank < victimDeadline) {
+                    victim = index;
+                    victimSeen = e;
+                    victimDeadline = rank;
+                }
+            }
+
+            if (!retry && table.compareAndSet(victim, victimSeen, new Entry(key, deadline))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Time left before calls for "key" may proceed; 0 when the gate is open.
+     */
+    public long remainingNanos(String key) {
+        if (key == null) {
+            return 0L;
+        }
+
+        long now = clock.nanoTime();
+        long remaining = 0L;
+        int start = indexFor(key, mask);
+
+        for (int i = 0; i < PROBES; i++) {
+            Entry e = table.get((start + i) & mask);
+
+            if (e != null && e.key.equals(key)) {
+                remaining = Math.max(remaining, e.deadlineNanos - now);
+            }
+        }
+
+        return remaining;
+    }
+
+    public void clear(String key) {
+        int start = indexFor(key, mask);
+
+        for (int i = 0; i < PROBES; i++) {
+            int index = (start + i) & mask;
+            Entry e = table.get(index);
+
+            if (e != null && e.key.equals(key)) {
+                table.compareAndSet(index, e, null);
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final long deadlineNanos;
+
+        Entry(String key, long deadlineNanos) {
+            this.key = key;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
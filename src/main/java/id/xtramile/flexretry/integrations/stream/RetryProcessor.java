@@ -0,0 +1,265 @@
+package id.xtramile.flexretry.integrations.stream;
+
+import id.xtramile.flexretry.AsyncRetryExecutor;
+import id.xtramile.flexretry.RetryOutcome;
+import id.xtramile.flexretry.config.RetryConfig;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Flow processor that retries each element with a {@link RetryConfig} without blocking in onNext.
+ * At most "window" elements are retrying or awaiting downstream demand at once; upstream is only
+ * asked for more as outcomes are delivered. Outcomes are emitted in completion order.
+ */
+public final class RetryProcessor<T, R> implements Flow.Processor<T, RetryOutcome<R>> {
+    private final RetryConfig<R> config;
+    private final AsyncRetryExecutor<R> executor;
+    private final RetryStreams.ThrowingFunction<? super T, ? extends R> fn;
+    private final ScheduledExecutorService timer;
+    private final int window;
+
+    private final Queue<RetryOutcome<R>> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger occupied = new AtomicInteger();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Flow.Subscriber<? super RetryOutcome<R>>> downstream = new AtomicReference<>();
+
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Publisher<? extends T> source;
+    private volatile int maxResubscribes;
+    private int resubscribes;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private volatile Throwable failure;
+    private volatile Throwable requestError;
+    private boolean terminated;
+
+    public RetryProcessor(RetryConfig<R> config,
+                          RetryStreams.ThrowingFunction<? super T, ? extends R> fn,
+                          int window,
+                          ScheduledExecutorService timer,
+                          Executor executor) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window >= 1");
+        }
+
+        this.config = Objects.requireNonNull(config, "config");
+        this.fn = Objects.requireNonNull(fn, "fn");
+        this.timer = Objects.requireNonNull(timer, "timer");
+        this.executor = new AsyncRetryExecutor<>(config, timer, executor);
+        this.window = window;
+    }
+
+    /**
+     * Subscribes to "source"; if the source itself fails, it is resubscribed after the config's
+     * backoff up to "maxResubscribes" times before the error is passed downstream.
+     */
+    public void subscribeTo(Flow.Publisher<? extends T> source, int maxResubscribes) {
+        if (maxResubscribes < 0) {
+            throw new IllegalArgumentException("maxResubscribes >= 0");
+        }
+
+        this.source = Objects.requireNonNull(source, "source");
+        this.maxResubscribes = maxResubscribes;
+        source.subscribe(this);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super RetryOutcome<R>> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+
+        if (!downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("RetryProcessor supports a single subscriber"));
+            return;
+        }
+
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    requestError = new IllegalArgumentException("n > 0");
+                    cancelUpstream();
+                } else {
+                    addDemand(n);
+                }
+
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                cancelUpstream();
+                ready.clear();
+            }
+        });
+
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+
+        if (cancelled || upstream != null) {
+            subscription.cancel();
+            return;
+        }
+
+        upstream = subscription;
+
+        int free = window - occupied.get();
+        if (free > 0) {
+            subscription.request(free);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item, "item");
+        occupied.incrementAndGet();
+
+        executor.run(() -> fn.apply(item))
+                .handle(RetryingSpliterator::toOutcome)
+                .thenAccept(outcome -> {
+                    ready.offer(outcome);
+                    drain();
+                });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Flow.Publisher<? extends T> src = source;
+
+        if (src != null && !cancelled && resubscribes < maxResubscribes) {
+            int n = ++resubscribes;
+            upstream = null;
+            long delayNanos = Math.max(0L, config.backoff.delayForAttempt(n).toNanos());
+
+            timer.schedule(() -> {
+                if (!cancelled) {
+                    src.subscribe(this);
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+
+            return;
+        }
+
+        failure = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    /**
+     * Elements currently retrying or waiting for downstream demand.
+     */
+    public int inFlight() {
+        return occupied.get();
+    }
+
+    private void addDemand(long n) {
+        long current;
+        long next;
+
+        do {
+            current = demand.get();
+
+            if (current == Long.MAX_VALUE) {
+                return;
+            }
+
+            next = current + n;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+        } while (!demand.compareAndSet(current, next));
+    }
+
+    private void cancelUpstream() {
+        Flow.Subscription subscription = upstream;
+
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+
+        do {
+            Flow.Subscriber<? super RetryOutcome<R>> subscriber = downstream.get();
+
+            if (subscriber != null && !terminated && !cancelled) {
+                long requested = demand.get();
+                long emitted = 0;
+
+                if (requestError != null) {
+                    terminated = true;
+                    subscriber.onError(requestError);
+                } else {
+                    while (emitted != requested && !cancelled) {
+                        RetryOutcome<R> outcome = ready.poll();
+
+                        if (outcome == null) {
+                            break;
+                        }
+
+                        subscriber.onNext(outcome);
+                        emitted++;
+                        occupied.decrementAndGet();
+
+                        Flow.Subscription subscription = upstream;
+                        if (subscription != null && !done) {
+                            subscription.request(1);
+                        }
+                    }
+
+                    if (emitted > 0 && requested != Long.MAX_VALUE) {
+                        demand.addAndGet(-emitted);
+                    }
+
+                    if (!cancelled && done && occupied.get() == 0) {
+                        terminated = true;
+                        Throwable error = failure;
+
+                        if (error != null) {
+                            subscriber.onError(error);
+                        } else {
+                            subscriber.onComplete();
+                        }
+                    }
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
@@ -0,0 +1,76 @@
+package id.xtramile.flexretry.integrations.stream;
+
+import id.xtramile.flexretry.AsyncRetryExecutor;
+import id.xtramile.flexretry.RetryOutcome;
+import id.xtramile.flexretry.config.RetryConfig;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Retrying map operator for streams: each element is retried with the config's policy
+ * without blocking a stream worker during backoff, and at most "maxInFlight" elements
+ * are in flight at once.
+ */
+public final class RetryStreams {
+    private RetryStreams() {
+    }
+
+    /**
+     * Maps every element, emitting one outcome per element in source order.
+     */
+    public static <E, R> Stream<RetryOutcome<R>> mapRetrying(Stream<E> source,
+                                                             RetryConfig<R> config,
+                                                             ThrowingFunction<? super E, ? extends R> fn,
+                                                             int maxInFlight,
+                                                             ScheduledExecutorService timer) {
+        return mapRetrying(source, config, fn, maxInFlight, Mode.ORDERED, timer, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Maps every element; attempts run on "executor" and backoff waits are scheduled on "timer".
+     * The returned stream is parallel when the source is, in which case finished outcomes are
+     * split off in batches to downstream workers.
+     */
+    public static <E, R> Stream<RetryOutcome<R>> mapRetrying(Stream<E> source,
+                                                             RetryConfig<R> config,
+                                                             ThrowingFunction<? super E, ? extends R> fn,
+                                                             int maxInFlight,
+                                                             Mode mode,
+                                                             ScheduledExecutorService timer,
+                                                             Executor executor) {
+        Objects.requireNonNull(source, "source");
+        Objects.requireNonNull(fn, "fn");
+        Objects.requireNonNull(mode, "mode");
+
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight >= 1");
+        }
+
+        AsyncRetryExecutor<R> async = new AsyncRetryExecutor<>(config, timer, executor);
+        RetryingSpliterator<E, R> spliterator = new RetryingSpliterator<>(
+                source.spliterator(), async, fn, maxInFlight, mode == Mode.ORDERED);
+
+        return StreamSupport.stream(spliterator, source.isParallel()).onClose(source::close);
+    }
+
+    public enum Mode {
+        /**
+         * Outcomes follow source order; a slow element holds back later ones.
+         */
+        ORDERED,
+        /**
+         * Outcomes are emitted as soon as each element finishes.
+         */
+        UNORDERED
+    }
+
+    @FunctionalInterface
+    public interface ThrowingFunction<E, R> {
+        R apply(E element) throws Exception;
+    }
+}
@@ -0,0 +1,187 @@
+package id.xtramile.flexretry.integrations.stream;
+
+import id.xtramile.flexretry.AsyncRetryExecutor;
+import id.xtramile.flexretry.RetryException;
+import id.xtramile.flexretry.RetryOutcome;
+
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Maps source elements through an {@link AsyncRetryExecutor}, keeping at most "maxInFlight"
+ * elements retrying at once and emitting one {@link RetryOutcome} per element.
+ * Ordered mode emits in source order; unordered mode emits in completion order.
+ */
+final class RetryingSpliterator<E, R> implements Spliterator<RetryOutcome<R>> {
+    private static final int SPLIT_BATCH = 64;
+
+    private final Spliterator<E> source;
+    private final AsyncRetryExecutor<R> executor;
+    private final RetryStreams.ThrowingFunction<? super E, ? extends R> fn;
+    private final int maxInFlight;
+    private final boolean ordered;
+
+    // ordered mode: outcomes in source order
+    private final ArrayDeque<CompletableFuture<RetryOutcome<R>>> pending = new ArrayDeque<>();
+    // unordered mode: outcomes in completion order
+    private final BlockingQueue<RetryOutcome<R>> completed = new LinkedBlockingQueue<>();
+    private int inFlight;
+    private boolean sourceDone;
+
+    RetryingSpliterator(Spliterator<E> source, AsyncRetryExecutor<R> executor,
+                        RetryStreams.ThrowingFunction<? super E, ? extends R> fn, int maxInFlight, boolean ordered) {
+        this.source = source;
+        this.executor = executor;
+        this.fn = fn;
+        this.maxInFlight = maxInFlight;
+        this.ordered = ordered;
+    }
+
+    static <R> RetryOutcome<R> toOutcome(R result, Throwable error) {
+        if (error == null) {
+            return new RetryOutcome<>(true, result, null, 0);
+        }
+
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+        if (cause instanceof RetryException) {
+            return new RetryOutcome<>(false, null, cause.getCause(), ((RetryException) cause).attempts());
+        }
+
+        return new RetryOutcome<>(false, null, cause, 0);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super RetryOutcome<R>> action) {
+        fill();
+
+        if (inFlight == 0) {
+            return false;
+        }
+
+        OutcomeWaiter waiter = new OutcomeWaiter();
+
+        try {
+            // Lets a ForkJoinPool worker (e.g. of a parallel stream) be compensated while it waits
+            ForkJoinPool.managedBlock(waiter);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(ie);
+        }
+
+        RetryOutcome<R> outcome = waiter.outcome;
+
+        inFlight--;
+        fill();
+        action.accept(outcome);
+
+        return true;
+    }
+
+    /**
+     * Hands a batch of already finished outcomes to another thread so downstream stages can run in parallel.
+     */
+    @Override
+    public Spliterator<RetryOutcome<R>> trySplit() {
+        fill();
+
+        Object[] batch = new Object[Math.min(SPLIT_BATCH, Math.max(1, inFlight))];
+        int size = 0;
+
+        while (size < batch.length) {
+            RetryOutcome<R> outcome = pollReady();
+
+            if (outcome == null) {
+                break;
+            }
+
+            batch[size++] = outcome;
+        }
+
+        return size == 0 ? null : Spliterators.spliterator(batch, 0, size, characteristics());
+    }
+
+    @Override
+    public long estimateSize() {
+        long remaining = source.estimateSize();
+        return remaining == Long.MAX_VALUE ? remaining : remaining + inFlight;
+    }
+
+    @Override
+    public int characteristics() {
+        return ordered ? ORDERED | NONNULL : NONNULL;
+    }
+
+    private RetryOutcome<R> nextReady() {
+        if (ordered) {
+            CompletableFuture<RetryOutcome<R>> head = pending.peek();
+            return head != null && head.isDone() ? pending.poll().join() : null;
+        }
+
+        return completed.poll();
+    }
+
+    private RetryOutcome<R> pollReady() {
+        RetryOutcome<R> outcome = nextReady();
+
+        if (outcome != null) {
+            inFlight--;
+        }
+
+        return outcome;
+    }
+
+    /**
+     * Waits for the next outcome: the head of the source order, or any finished one in unordered mode.
+     */
+    private final class OutcomeWaiter implements ForkJoinPool.ManagedBlocker {
+        RetryOutcome<R> outcome;
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (outcome == null) {
+                outcome = ordered ? pending.poll().join() : completed.take();
+            }
+
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (outcome == null) {
+                outcome = nextReady();
+            }
+
+            return outcome != null;
+        }
+    }
+
+    private void fill() {
+        while (!sourceDone && inFlight < maxInFlight) {
+            if (!source.tryAdvance(this::submit)) {
+                sourceDone = true;
+            }
+        }
+    }
+
+    private void submit(E element) {
+        CompletableFuture<RetryOutcome<R>> outcome = executor
+                .run(() -> fn.apply(element))
+                .handle(RetryingSpliterator::toOutcome);
+
+        inFlight++;
+
+        if (ordered) {
+            pending.add(outcome);
+        } else {
+            outcome.thenAccept(completed::add);
+        }
+    }
+}
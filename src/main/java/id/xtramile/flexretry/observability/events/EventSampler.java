@@ -0,0 +1,54 @@
+package id.xtramile.flexretry.observability.events;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides, before an event is built, whether it should be published at all.
+ */
+@FunctionalInterface
+public interface EventSampler {
+    static EventSampler always() {
+        return (type, attempt) -> true;
+    }
+
+    /**
+     * Keeps "rate" (0..1) of first-attempt successes and every other event.
+     */
+    static EventSampler firstAttemptSuccesses(double rate) {
+        checkRate(rate);
+
+        return (type, attempt) -> type != RetryEvent.Type.ATTEMPT_SUCCEEDED
+                || attempt > 1
+                || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * Per-type rates (0..1); types without a rate are always kept.
+     */
+    static EventSampler rates(Map<RetryEvent.Type, Double> rates) {
+        double[] byType = new double[RetryEvent.Type.values().length];
+        Map<RetryEvent.Type, Double> copy = new EnumMap<>(RetryEvent.Type.class);
+        copy.putAll(rates);
+
+        for (RetryEvent.Type type : RetryEvent.Type.values()) {
+            double rate = copy.getOrDefault(type, 1.0);
+            checkRate(rate);
+            byType[type.ordinal()] = rate;
+        }
+
+        return (type, attempt) -> {
+            double rate = byType[type.ordinal()];
+            return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+        };
+    }
+
+    private static void checkRate(double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("rate must be between 0 and 1");
+        }
+    }
+
+    boolean sample(RetryEvent.Type type, int attempt);
+}
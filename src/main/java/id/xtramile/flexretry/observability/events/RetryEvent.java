@@ -7,6 +7,30 @@ import java.io.Serializable;
 public interface RetryEvent<T> extends Serializable {
     RetryContext<T> context();
 
+    /**
+     * Discriminator used by the bus to route events without instanceof chains.
+     * Events defined outside this library are {@link Type#CUSTOM} unless they override it.
+     */
+    default Type type() {
+        return Type.CUSTOM;
+    }
+
+    /**
+     * Duration of the attempt that produced this event, 0 when unknown.
+     */
+    default long latencyNanos() {
+        return 0L;
+    }
+
+    enum Type {
+        ATTEMPT_STARTED,
+        ATTEMPT_SUCCEEDED,
+        ATTEMPT_FAILED,
+        EXHAUSTED,
+        RECOVERED,
+        CUSTOM
+    }
+
     final class AttemptStarted<T> implements RetryEvent<T> {
         private final RetryContext<T> context;
 
@@ -18,15 +42,26 @@ public interface RetryEvent<T> extends Serializable {
         public RetryContext<T> context() {
             return context;
         }
+
+        @Override
+        public Type type() {
+            return Type.ATTEMPT_STARTED;
+        }
     }
 
     final class AttemptSucceeded<T> implements RetryEvent<T> {
         private final RetryContext<T> context;
         private final T result;
+        private final long latencyNanos;
 
         public AttemptSucceeded(RetryContext<T> context, T result) {
+            this(context, result, 0L);
+        }
+
+        public AttemptSucceeded(RetryContext<T> context, T result, long latencyNanos) {
             this.context = context;
             this.result = result;
+            this.latencyNanos = latencyNanos;
         }
 
         @Override
@@ -34,6 +69,16 @@ public interface RetryEvent<T> extends Serializable {
             return context;
         }
 
+        @Override
+        public Type type() {
+            return Type.ATTEMPT_SUCCEEDED;
+        }
+
+        @Override
+        public long latencyNanos() {
+            return latencyNanos;
+        }
+
         public T result() {
             return result;
         }
@@ -42,10 +87,16 @@ public interface RetryEvent<T> extends Serializable {
     final class AttemptFailed<T> implements RetryEvent<T> {
         private final RetryContext<T> context;
         private final Throwable error;
+        private final long latencyNanos;
 
         public AttemptFailed(RetryContext<T> context, Throwable error) {
+            this(context, error, 0L);
+        }
+
+        public AttemptFailed(RetryContext<T> context, Throwable error, long latencyNanos) {
             this.context = context;
             this.error = error;
+            this.latencyNanos = latencyNanos;
         }
 
         @Override
@@ -53,6 +104,16 @@ public interface RetryEvent<T> extends Serializable {
             return context;
         }
 
+        @Override
+        public Type type() {
+            return Type.ATTEMPT_FAILED;
+        }
+
+        @Override
+        public long latencyNanos() {
+            return latencyNanos;
+        }
+
         public Throwable error() {
             return error;
         }
@@ -61,10 +122,16 @@ public interface RetryEvent<T> extends Serializable {
     final class Exhausted<T> implements RetryEvent<T> {
         private final RetryContext<T> context;
         private final Throwable lastError;
+        private final long latencyNanos;
 
         public Exhausted(RetryContext<T> context, Throwable lastError) {
+            this(context, lastError, 0L);
+        }
+
+        public Exhausted(RetryContext<T> context, Throwable lastError, long latencyNanos) {
             this.context = context;
             this.lastError = lastError;
+            this.latencyNanos = latencyNanos;
         }
 
         @Override
@@ -72,6 +139,16 @@ public interface RetryEvent<T> extends Serializable {
             return context;
         }
 
+        @Override
+        public Type type() {
+            return Type.EXHAUSTED;
+        }
+
+        @Override
+        public long latencyNanos() {
+            return latencyNanos;
+        }
+
         public Throwable lastError() {
             return lastError;
         }
@@ -91,6 +168,11 @@ public interface RetryEvent<T> extends Serializable {
             return context;
         }
 
+        @Override
+        public Type type() {
+            return Type.RECOVERED;
+        }
+
         public T fallback() {
             return fallback;
         }
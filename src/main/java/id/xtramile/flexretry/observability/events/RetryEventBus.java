@@ -1,18 +1,181 @@
 package id.xtramile.flexretry.observability.events;
 
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 
-public final class RetryEventBus<T> {
-    private final List<Consumer<RetryEvent<T>>> subscribers = new CopyOnWriteArrayList<>();
+/**
+ * Fans retry events out to subscribers. By default subscribers run synchronously on the
+ * publishing thread; {@link #async(int, int, Backpressure)} hands events to consumer
+ * threads through a preallocated ring buffer instead.
+ */
+public final class RetryEventBus<T> implements AutoCloseable {
+    private static final RetryEvent.Type[] TYPES = RetryEvent.Type.values();
+
+    private final Object lock = new Object();
+    private final RingBufferDispatcher<T> dispatcher;
+
+    // Copy-on-write, indexed by RetryEvent.Type ordinal
+    private volatile Consumer<RetryEvent<T>>[][] subscribers = emptySubscribers();
+    // Bit "ordinal" set when at least one subscriber listens to that type
+    private volatile int interestMask;
+    // Same layout, for subscribers that see every event whatever the sampler keeps
+    private volatile Consumer<RetryEvent<T>>[][] unsampledSubscribers = emptySubscribers();
+    private volatile int unsampledMask;
+    private volatile EventSampler sampler;
+
+    public RetryEventBus() {
+        this.dispatcher = null;
+    }
+
+    private RetryEventBus(int capacity, int consumerThreads, Backpressure backpressure) {
+        this.dispatcher = new RingBufferDispatcher<>(this, capacity, consumerThreads, backpressure);
+    }
+
+    /**
+     * Subscribers are invoked on "consumerThreads" background threads in batches.
+     * With more than one consumer thread, events are no longer delivered in publish order.
+     */
+    public static <T> RetryEventBus<T> async(int capacity, int consumerThreads, Backpressure backpressure) {
+        return new RetryEventBus<>(capacity, consumerThreads, Objects.requireNonNull(backpressure, "backpressure"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Consumer<RetryEvent<T>>[][] emptySubscribers() {
+        Consumer<RetryEvent<T>>[][] empty = (Consumer<RetryEvent<T>>[][]) new Consumer<?>[TYPES.length][];
+        Arrays.fill(empty, new Consumer<?>[0]);
+        return empty;
+    }
 
     public void subscribe(Consumer<RetryEvent<T>> consumer) {
-        subscribers.add(consumer);
+        subscribe(EnumSet.allOf(RetryEvent.Type.class), consumer);
+    }
+
+    public void subscribe(Set<RetryEvent.Type> types, Consumer<RetryEvent<T>> consumer) {
+        Objects.requireNonNull(types, "types");
+        Objects.requireNonNull(consumer, "consumer");
+
+        synchronized (lock) {
+            subscribers = withSubscriber(subscribers, types, consumer);
+            interestMask = withTypes(interestMask, types);
+        }
+    }
+
+    /**
+     * Like {@link #subscribe(Set, Consumer)}, but "consumer" sees every event of "types" whatever
+     * the sampler keeps, for subscribers that derive rates from the events.
+     */
+    public void subscribeUnsampled(Set<RetryEvent.Type> types, Consumer<RetryEvent<T>> consumer) {
+        Objects.requireNonNull(types, "types");
+        Objects.requireNonNull(consumer, "consumer");
+
+        synchronized (lock) {
+            unsampledSubscribers = withSubscriber(unsampledSubscribers, types, consumer);
+            unsampledMask = withTypes(unsampledMask, types);
+        }
+    }
+
+    private static <T> Consumer<RetryEvent<T>>[][] withSubscriber(Consumer<RetryEvent<T>>[][] table, Set<RetryEvent.Type> types,
+                                                                 Consumer<RetryEvent<T>> consumer) {
+        Consumer<RetryEvent<T>>[][] next = table.clone();
+
+        for (RetryEvent.Type type : types) {
+            Consumer<RetryEvent<T>>[] current = next[type.ordinal()];
+            Consumer<RetryEvent<T>>[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = consumer;
+            next[type.ordinal()] = grown;
+        }
+
+        return next;
+    }
+
+    private static int withTypes(int mask, Set<RetryEvent.Type> types) {
+        for (RetryEvent.Type type : types) {
+            mask |= 1 << type.ordinal();
+        }
+
+        return mask;
+    }
+
+    /**
+     * Samples events before they are built; null keeps everything.
+     */
+    public RetryEventBus<T> sampling(EventSampler sampler) {
+        this.sampler = sampler;
+        return this;
+    }
+
+    public boolean hasSubscribers(RetryEvent.Type type) {
+        return ((interestMask | unsampledMask) & (1 << type.ordinal())) != 0;
+    }
+
+    /**
+     * Whether an event of this type should be built and published: an unsampled subscriber
+     * listens to it, or someone listens and the sampler keeps it. Lets publishers skip the
+     * allocation entirely otherwise.
+     */
+    public boolean wants(RetryEvent.Type type, int attempt) {
+        int bit = 1 << type.ordinal();
+
+        if ((unsampledMask & bit) != 0) {
+            return true; // sampled subscribers are filtered on dispatch instead
+        }
+
+        if ((interestMask & bit) == 0) {
+            return false;
+        }
+
+        EventSampler current = sampler;
+        return current == null || current.sample(type, attempt);
     }
 
     public void publish(RetryEvent<T> event) {
-        for (Consumer<RetryEvent<T>> consumer : subscribers) {
+        if (dispatcher == null) {
+            dispatch(event);
+        } else {
+            dispatcher.offer(event);
+        }
+    }
+
+    /**
+     * Events rejected by the backpressure mode of an async bus; always 0 for a synchronous bus.
+     */
+    public long dropped() {
+        return dispatcher == null ? 0L : dispatcher.dropped();
+    }
+
+    /**
+     * Stops the consumer threads of an async bus after delivering what was already published.
+     */
+    @Override
+    public void close() {
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
+
+    void dispatch(RetryEvent<T> event) {
+        int ordinal = event.type().ordinal();
+        deliver(unsampledSubscribers[ordinal], event);
+
+        Consumer<RetryEvent<T>>[] sampled = subscribers[ordinal];
+        if (sampled.length > 0 && ((unsampledMask & (1 << ordinal)) == 0 || sampledIn(event))) {
+            deliver(sampled, event);
+        }
+    }
+
+    /**
+     * Sampler decision for an event that {@link #wants} let through unsampled.
+     */
+    private boolean sampledIn(RetryEvent<T> event) {
+        EventSampler current = sampler;
+        return current == null || current.sample(event.type(), event.context() == null ? 1 : event.context().attempt());
+    }
+
+    private static <T> void deliver(Consumer<RetryEvent<T>>[] consumers, RetryEvent<T> event) {
+        for (Consumer<RetryEvent<T>> consumer : consumers) {
             try {
                 consumer.accept(event);
 
@@ -20,4 +183,19 @@ public final class RetryEventBus<T> {
             }
         }
     }
+
+    public enum Backpressure {
+        /**
+         * Drop the event when the buffer is full.
+         */
+        DROP,
+        /**
+         * Wait for a free slot.
+         */
+        BLOCK,
+        /**
+         * Above half capacity keep failures/exhaustion and a sample of the rest; drop when full.
+         */
+        SAMPLE
+    }
 }
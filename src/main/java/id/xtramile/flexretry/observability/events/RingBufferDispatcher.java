@@ -0,0 +1,179 @@
+package id.xtramile.flexretry.observability.events;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer / multi-consumer ring buffer with preallocated slots.
+ * Producers claim a slot with one CAS on the tail; consumers claim contiguous batches.
+ */
+final class RingBufferDispatcher<T> {
+    private static final int MAX_BATCH = 128;
+    private static final int SAMPLE_EVERY = 8;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private final RetryEventBus<T> bus;
+    private final RetryEventBus.Backpressure backpressure;
+    private final int capacity;
+    private final int mask;
+
+    // Slot "i" is writable for position p when sequences[i] == p, readable when == p + 1
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<RetryEvent<T>> slots;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread[] consumers;
+
+    private volatile boolean running = true;
+
+    RingBufferDispatcher(RetryEventBus<T> bus, int capacity, int consumerThreads, RetryEventBus.Backpressure backpressure) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity >= 2");
+        }
+
+        if (consumerThreads < 1) {
+            throw new IllegalArgumentException("consumerThreads >= 1");
+        }
+
+        this.bus = bus;
+        this.backpressure = backpressure;
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.sequences = new AtomicLongArray(this.capacity);
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+
+        this.consumers = new Thread[consumerThreads];
+        for (int i = 0; i < consumerThreads; i++) {
+            Thread thread = new Thread(this::consumeLoop, "flexretry-events-" + i);
+            thread.setDaemon(true);
+            consumers[i] = thread;
+            thread.start();
+        }
+    }
+
+    void offer(RetryEvent<T> event) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+
+        if (backpressure == RetryEventBus.Backpressure.SAMPLE && !sampled(event)) {
+            dropped.increment();
+            return;
+        }
+
+        int spins = 0;
+
+        for (; ; ) {
+            long pos = tail.get();
+            int idx = (int) (pos & mask);
+            long diff = sequences.get(idx) - pos;
+
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(idx, event);
+                    sequences.lazySet(idx, pos + 1);
+                    return;
+                }
+
+            } else if (diff < 0) {
+                if (backpressure != RetryEventBus.Backpressure.BLOCK || !running) {
+                    dropped.increment();
+                    return;
+                }
+
+                if (++spins < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    void close() {
+        running = false;
+
+        for (Thread consumer : consumers) {
+            LockSupport.unpark(consumer);
+        }
+
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean sampled(RetryEvent<T> event) {
+        RetryEvent.Type type = event.type();
+        if (type == RetryEvent.Type.ATTEMPT_FAILED || type == RetryEvent.Type.EXHAUSTED) {
+            return true;
+        }
+
+        long depth = tail.get() - head.get();
+        return depth < (capacity >> 1) || ThreadLocalRandom.current().nextInt(SAMPLE_EVERY) == 0;
+    }
+
+    private void consumeLoop() {
+        while (running) {
+            if (drainBatch() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+
+        while (drainBatch() > 0) {
+            // deliver what was published before close()
+        }
+    }
+
+    private int drainBatch() {
+        for (; ; ) {
+            long start = head.get();
+            int available = 0;
+
+            while (available < MAX_BATCH && sequences.get((int) ((start + available) & mask)) == start + available + 1) {
+                available++;
+            }
+
+            if (available == 0) {
+                return 0;
+            }
+
+            if (!head.compareAndSet(start, start + available)) {
+                continue;
+            }
+
+            for (int i = 0; i < available; i++) {
+                long pos = start + i;
+                int idx = (int) (pos & mask);
+                RetryEvent<T> event = slots.get(idx);
+
+                slots.lazySet(idx, null);
+                sequences.lazySet(idx, pos + capacity);
+
+                bus.dispatch(event);
+            }
+
+            return available;
+        }
+    }
+}
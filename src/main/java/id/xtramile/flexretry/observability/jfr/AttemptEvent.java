@@ -0,0 +1,41 @@
+package id.xtramile.flexretry.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning a single attempt; duration is the time spent in the task.
+ */
+@Name("id.xtramile.flexretry.Attempt")
+@Label("Retry Attempt")
+@Category({"FlexRetry"})
+@Description("A single attempt executed by a RetryExecutor")
+@StackTrace(false)
+public final class AttemptEvent extends Event {
+    @Label("Retry Name")
+    String retryName;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Exception Class")
+    String exceptionClass;
+
+    /**
+     * Ends the event and commits it when the recording wants it.
+     */
+    public void complete(String retryName, int attempt, Throwable error) {
+        end();
+
+        if (shouldCommit()) {
+            this.retryName = retryName;
+            this.attempt = attempt;
+            this.exceptionClass = error == null ? null : error.getClass().getName();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package id.xtramile.flexretry.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event spanning the backoff sleep between two attempts.
+ */
+@Name("id.xtramile.flexretry.BackoffSleep")
+@Label("Retry Backoff Sleep")
+@Category({"FlexRetry"})
+@Description("Time a retrying thread spent sleeping before the next attempt")
+@StackTrace(false)
+public final class BackoffSleepEvent extends Event {
+    @Label("Retry Name")
+    String retryName;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Requested Delay")
+    @Timespan(Timespan.MILLISECONDS)
+    long requestedMillis;
+
+    public void complete(String retryName, int attempt, long requestedMillis) {
+        end();
+
+        if (shouldCommit()) {
+            this.retryName = retryName;
+            this.attempt = attempt;
+            this.requestedMillis = requestedMillis;
+            commit();
+        }
+    }
+}
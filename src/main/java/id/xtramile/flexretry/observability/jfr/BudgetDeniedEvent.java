@@ -0,0 +1,31 @@
+package id.xtramile.flexretry.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("id.xtramile.flexretry.BudgetDenied")
+@Label("Retry Budget Denied")
+@Category({"FlexRetry"})
+@Description("A retry was denied by the RetryBudget")
+@StackTrace(false)
+public final class BudgetDeniedEvent extends Event {
+    @Label("Retry Name")
+    String retryName;
+
+    @Label("Attempt")
+    int attempt;
+
+    public static void emit(String retryName, int attempt) {
+        BudgetDeniedEvent event = new BudgetDeniedEvent();
+
+        if (event.isEnabled()) {
+            event.retryName = retryName;
+            event.attempt = attempt;
+            event.commit();
+        }
+    }
+}
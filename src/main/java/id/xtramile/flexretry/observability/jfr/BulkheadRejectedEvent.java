@@ -0,0 +1,31 @@
+package id.xtramile.flexretry.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("id.xtramile.flexretry.BulkheadRejected")
+@Label("Retry Bulkhead Rejected")
+@Category({"FlexRetry"})
+@Description("An attempt was rejected because the Bulkhead was full")
+@StackTrace(false)
+public final class BulkheadRejectedEvent extends Event {
+    @Label("Retry Name")
+    String retryName;
+
+    @Label("Attempt")
+    int attempt;
+
+    public static void emit(String retryName, int attempt) {
+        BulkheadRejectedEvent event = new BulkheadRejectedEvent();
+
+        if (event.isEnabled()) {
+            event.retryName = retryName;
+            event.attempt = attempt;
+            event.commit();
+        }
+    }
+}
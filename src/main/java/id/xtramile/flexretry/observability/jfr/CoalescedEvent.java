@@ -0,0 +1,31 @@
+package id.xtramile.flexretry.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("id.xtramile.flexretry.Coalesced")
+@Label("Retry Coalesced")
+@Category({"FlexRetry"})
+@Description("An attempt joined an in-flight SingleFlight call instead of running the task")
+@StackTrace(false)
+public final class CoalescedEvent extends Event {
+    @Label("Retry Name")
+    String retryName;
+
+    @Label("Attempt")
+    int attempt;
+
+    public static void emit(String retryName, int attempt) {
+        CoalescedEvent event = new CoalescedEvent();
+
+        if (event.isEnabled()) {
+            event.retryName = retryName;
+            event.attempt = attempt;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package id.xtramile.flexretry.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("id.xtramile.flexretry.HedgeLaunched")
+@Label("Hedge Launched")
+@Category({"FlexRetry"})
+@Description("A speculative copy of a slow attempt was started")
+@StackTrace(false)
+public final class HedgeLaunchedEvent extends Event {
+    @Label("Retry Name")
+    String retryName;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Hedge")
+    int hedge;
+
+    public static void emit(String retryName, int attempt, int hedge) {
+        HedgeLaunchedEvent event = new HedgeLaunchedEvent();
+
+        if (event.isEnabled()) {
+            event.retryName = retryName;
+            event.attempt = attempt;
+            event.hedge = hedge;
+            event.commit();
+        }
+    }
+}
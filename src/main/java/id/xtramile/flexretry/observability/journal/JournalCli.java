@@ -0,0 +1,122 @@
+package id.xtramile.flexretry.observability.journal;
+
+import id.xtramile.flexretry.observability.events.RetryEvent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates a journal per retry name and outcome:
+ * {@code java id.xtramile.flexretry.observability.journal.JournalCli <journal-dir>}
+ */
+public final class JournalCli {
+    private static final RetryEvent.Type[] TYPES = RetryEvent.Type.values();
+
+    private JournalCli() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: JournalCli <journal-dir>");
+            System.exit(2);
+            return;
+        }
+
+        Path dir = Paths.get(args[0]);
+        JournalReader reader = JournalReader.open(dir);
+
+        Tally tally = new Tally(reader.dictionary().size());
+
+        long started = System.nanoTime();
+        long records = reader.scan((timestamp, nameId, attempt, outcome, exceptionId, delay, latency) -> {
+            tally.ensure(Math.max(nameId, exceptionId));
+            tally.counts[nameId * TYPES.length + outcome]++;
+
+            if (latency > 0) {
+                tally.latencySum[nameId] += latency;
+                tally.latencyCount[nameId]++;
+            }
+
+            if (exceptionId >= 0) {
+                tally.errors[exceptionId]++;
+            }
+        });
+        long elapsed = Math.max(1L, System.nanoTime() - started);
+
+        System.out.printf("%d records in %d ms (%.0f records/s)%n", records,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), records * 1e9 / elapsed);
+
+        boolean anyErrors = false;
+
+        for (int id = 0; id < tally.size; id++) {
+            if (tally.errors[id] > 0) {
+                anyErrors = true;
+            }
+
+            int base = id * TYPES.length;
+            boolean seen = false;
+
+            for (RetryEvent.Type type : TYPES) {
+                long count = tally.counts[base + type.ordinal()];
+                if (count > 0) {
+                    if (!seen) {
+                        System.out.println(reader.lookup(id));
+                        seen = true;
+                    }
+                    System.out.printf("  %-18s %d%n", type, count);
+                }
+            }
+
+            if (seen && tally.latencyCount[id] > 0) {
+                System.out.printf("  %-18s %.3f ms%n", "avg latency", tally.latencySum[id] / (double) tally.latencyCount[id] / 1e6);
+            }
+        }
+
+        if (anyErrors) {
+            System.out.println("errors");
+
+            for (int id = 0; id < tally.size; id++) {
+                if (tally.errors[id] > 0) {
+                    System.out.printf("  %-50s %d%n", reader.lookup(id), tally.errors[id]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Per-id totals in flat arrays indexed by dictionary id; grows only for ids the
+     * dictionary did not hold yet when the reader opened (e.g. a live journal).
+     */
+    private static final class Tally {
+        int size;
+        long[] counts;
+        long[] latencySum;
+        long[] latencyCount;
+        long[] errors;
+
+        Tally(int size) {
+            resize(Math.max(1, size));
+        }
+
+        void ensure(int id) {
+            if (id >= size) {
+                resize(Math.max(id + 1, size * 2));
+            }
+        }
+
+        private void resize(int newSize) {
+            counts = copy(counts, newSize * TYPES.length);
+            latencySum = copy(latencySum, newSize);
+            latencyCount = copy(latencyCount, newSize);
+            errors = copy(errors, newSize);
+            size = newSize;
+        }
+
+        private static long[] copy(long[] array, int length) {
+            return array == null ? new long[length] : Arrays.copyOf(array, length);
+        }
+    }
+}
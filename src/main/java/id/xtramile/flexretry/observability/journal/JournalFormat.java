@@ -0,0 +1,56 @@
+package id.xtramile.flexretry.observability.journal;
+
+import java.nio.file.Path;
+
+/**
+ * On-disk layout shared by {@link RetryEventJournal} and {@link JournalReader}.
+ * <p>
+ * Segment: 16-byte header (magic, version, record size, reserved) followed by fixed-size
+ * little-endian records. A record with timestamp 0 marks the end of the written data.
+ * <pre>
+ *  0  long  timestamp (epoch millis)
+ *  8  int   retry name id
+ * 12  int   attempt
+ * 16  int   outcome (RetryEvent.Type ordinal)
+ * 20  int   exception class id (-1 when none)
+ * 24  long  next delay (nanos)
+ * 32  long  attempt latency (nanos)
+ * </pre>
+ * Strings are dictionary-encoded into "dictionary.log" as (int id, UTF string) entries.
+ */
+final class JournalFormat {
+    static final int MAGIC = 0x46524A4C; // "FRJL"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 40;
+
+    static final int OFF_TIMESTAMP = 0;
+    static final int OFF_NAME = 8;
+    static final int OFF_ATTEMPT = 12;
+    static final int OFF_OUTCOME = 16;
+    static final int OFF_EXCEPTION = 20;
+    static final int OFF_DELAY = 24;
+    static final int OFF_LATENCY = 32;
+
+    static final String DICTIONARY_FILE = "dictionary.log";
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".jrnl";
+
+    private JournalFormat() {
+    }
+
+    static Path segmentPath(Path dir, long index) {
+        return dir.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    static boolean isSegment(Path path) {
+        String file = path.getFileName().toString();
+        return file.startsWith(SEGMENT_PREFIX) && file.endsWith(SEGMENT_SUFFIX);
+    }
+
+    static long segmentIndex(Path path) {
+        String file = path.getFileName().toString();
+        return Long.parseLong(file.substring(SEGMENT_PREFIX.length(), file.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,133 @@
+package id.xtramile.flexretry.observability.journal;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static id.xtramile.flexretry.observability.journal.JournalFormat.*;
+
+/**
+ * Scans journal segments written by {@link RetryEventJournal} without allocating per record.
+ */
+public final class JournalReader {
+    private final Path dir;
+    private final List<String> dictionary;
+
+    private JournalReader(Path dir, List<String> dictionary) {
+        this.dir = dir;
+        this.dictionary = dictionary;
+    }
+
+    public static JournalReader open(Path dir) throws IOException {
+        return new JournalReader(dir, readDictionary(dir));
+    }
+
+    static List<String> readDictionary(Path dir) throws IOException {
+        Path file = dir.resolve(DICTIONARY_FILE);
+        List<String> values = new ArrayList<>();
+
+        if (!Files.exists(file)) {
+            return values;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            for (; ; ) {
+                int id;
+                String value;
+
+                try {
+                    id = in.readInt();
+                    value = in.readUTF();
+                } catch (EOFException eof) {
+                    break; // a torn trailing entry is ignored
+                }
+
+                if (id != values.size()) {
+                    throw new IOException("Corrupt journal dictionary at id " + id);
+                }
+
+                values.add(value);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Dictionary value for a name or exception class id; null for -1 or unknown ids.
+     */
+    public String lookup(int id) {
+        return id >= 0 && id < dictionary.size() ? dictionary.get(id) : null;
+    }
+
+    public List<String> dictionary() {
+        return List.copyOf(dictionary);
+    }
+
+    /**
+     * Visits every complete record in segment order and returns how many were visited.
+     */
+    public long scan(RecordVisitor visitor) throws IOException {
+        long count = 0;
+
+        for (Path path : segments()) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+                if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                    throw new IOException("Not a journal segment: " + path);
+                }
+
+                if (buffer.getInt(4) != VERSION || buffer.getInt(8) != RECORD_SIZE) {
+                    throw new IOException("Unsupported journal segment version: " + path);
+                }
+
+                for (int base = HEADER_SIZE; base + RECORD_SIZE <= buffer.limit(); base += RECORD_SIZE) {
+                    long timestamp = buffer.getLong(base + OFF_TIMESTAMP);
+                    if (timestamp == 0L) {
+                        break;
+                    }
+
+                    visitor.visit(
+                            timestamp,
+                            buffer.getInt(base + OFF_NAME),
+                            buffer.getInt(base + OFF_ATTEMPT),
+                            buffer.getInt(base + OFF_OUTCOME),
+                            buffer.getInt(base + OFF_EXCEPTION),
+                            buffer.getLong(base + OFF_DELAY),
+                            buffer.getLong(base + OFF_LATENCY));
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(JournalFormat::isSegment)
+                    .sorted(Comparator.comparingLong(JournalFormat::segmentIndex))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(long timestampMillis, int nameId, int attempt, int outcome,
+                   int exceptionClassId, long delayNanos, long latencyNanos);
+    }
+}
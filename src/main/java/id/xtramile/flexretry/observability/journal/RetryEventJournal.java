@@ -0,0 +1,173 @@
+package id.xtramile.flexretry.observability.journal;
+
+import id.xtramile.flexretry.RetryContext;
+import id.xtramile.flexretry.observability.events.RetryEvent;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static id.xtramile.flexretry.observability.journal.JournalFormat.*;
+
+/**
+ * {@link id.xtramile.flexretry.observability.events.RetryEventBus} subscriber that appends every
+ * event as a fixed-size record to rotating memory-mapped segments. Read back with {@link JournalReader}.
+ */
+public final class RetryEventJournal<T> implements Consumer<RetryEvent<T>>, Closeable {
+    private static final String UNNAMED = "?";
+
+    private final Path dir;
+    private final int recordsPerSegment;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final DataOutputStream dictionaryOut;
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private int recordsInSegment;
+    private boolean closed;
+
+    private RetryEventJournal(Path dir, int recordsPerSegment) throws IOException {
+        this.dir = dir;
+        this.recordsPerSegment = recordsPerSegment;
+
+        Files.createDirectories(dir);
+        loadDictionary();
+
+        this.dictionaryOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                dir.resolve(DICTIONARY_FILE), StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        this.segmentIndex = lastSegmentIndex() + 1;
+
+        openSegment();
+    }
+
+    /**
+     * Opens (or continues) a journal in "dir"; every restart starts a new segment.
+     */
+    public static <T> RetryEventJournal<T> open(Path dir, int recordsPerSegment) throws IOException {
+        if (recordsPerSegment < 1) {
+            throw new IllegalArgumentException("recordsPerSegment >= 1");
+        }
+
+        return new RetryEventJournal<>(dir, recordsPerSegment);
+    }
+
+    @Override
+    public synchronized void accept(RetryEvent<T> event) {
+        if (closed) {
+            return;
+        }
+
+        RetryContext<T> ctx = event.context();
+        Throwable error = errorOf(event);
+
+        try {
+            int nameId = idOf(ctx.name() == null ? UNNAMED : ctx.name());
+            int exceptionId = error == null ? -1 : idOf(error.getClass().getName());
+
+            if (recordsInSegment == recordsPerSegment) {
+                rotate();
+            }
+
+            int base = HEADER_SIZE + recordsInSegment * RECORD_SIZE;
+            segment.putInt(base + OFF_NAME, nameId);
+            segment.putInt(base + OFF_ATTEMPT, ctx.attempt());
+            segment.putInt(base + OFF_OUTCOME, event.type().ordinal());
+            segment.putInt(base + OFF_EXCEPTION, exceptionId);
+            segment.putLong(base + OFF_DELAY, ctx.nextDelay().toNanos());
+            segment.putLong(base + OFF_LATENCY, event.latencyNanos());
+            // Timestamp last: a non-zero timestamp marks a complete record
+            segment.putLong(base + OFF_TIMESTAMP, Math.max(1L, System.currentTimeMillis()));
+            recordsInSegment++;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        segment.force();
+        channel.close();
+        dictionaryOut.close();
+    }
+
+    private static Throwable errorOf(RetryEvent<?> event) {
+        if (event instanceof RetryEvent.AttemptFailed) {
+            return ((RetryEvent.AttemptFailed<?>) event).error();
+        }
+
+        if (event instanceof RetryEvent.Exhausted) {
+            return ((RetryEvent.Exhausted<?>) event).lastError();
+        }
+
+        return event.context().lastError();
+    }
+
+    private int idOf(String value) throws IOException {
+        Integer id = dictionary.get(value);
+        if (id != null) {
+            return id;
+        }
+
+        int next = dictionary.size();
+        dictionaryOut.writeInt(next);
+        dictionaryOut.writeUTF(value);
+        dictionaryOut.flush();
+        dictionary.put(value, next);
+
+        return next;
+    }
+
+    private void loadDictionary() throws IOException {
+        for (String value : JournalReader.readDictionary(dir)) {
+            dictionary.put(value, dictionary.size());
+        }
+    }
+
+    private long lastSegmentIndex() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(JournalFormat::isSegment)
+                    .mapToLong(JournalFormat::segmentIndex)
+                    .max()
+                    .orElse(0L);
+        }
+    }
+
+    private void rotate() throws IOException {
+        segment.force();
+        channel.close();
+        segmentIndex++;
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        long size = HEADER_SIZE + (long) recordsPerSegment * RECORD_SIZE;
+
+        channel = FileChannel.open(segmentPath(dir, segmentIndex),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segment.putInt(0, MAGIC);
+        segment.putInt(4, VERSION);
+        segment.putInt(8, RECORD_SIZE);
+        recordsInSegment = 0;
+    }
+}
@@ -0,0 +1,189 @@
+package id.xtramile.flexretry.observability.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands metric calls off to a background thread through a preallocated ring buffer,
+ * so the retrying thread never formats or writes anything. Calls are dropped (and
+ * counted) when the buffer is full.
+ */
+public final class AsyncRetryMetrics implements RetryMetrics, AutoCloseable {
+    private static final int STARTED = 0;
+    private static final int SUCCEEDED = 1;
+    private static final int FAILED = 2;
+    private static final int EXHAUSTED = 3;
+
+    private static final int DRAIN_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final RetryMetrics delegate;
+    private final int mask;
+
+    // Slot "i" is writable for position p when sequences[i] == p, readable when == p + 1
+    private final AtomicLongArray sequences;
+    private final int[] kinds;
+    private final String[] names;
+    private final int[] attempts;
+    private final Throwable[] errors;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread drainer;
+
+    private long head;
+    private volatile boolean running = true;
+
+    public AsyncRetryMetrics(RetryMetrics delegate, int capacity) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate must not be null");
+        }
+
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity >= 2");
+        }
+
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+
+        this.delegate = delegate;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.kinds = new int[size];
+        this.names = new String[size];
+        this.attempts = new int[size];
+        this.errors = new Throwable[size];
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+
+        this.drainer = new Thread(this::drainLoop, "flexretry-metrics");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    @Override
+    public void attemptStarted(String name, int attempt) {
+        offer(STARTED, name, attempt, null);
+    }
+
+    @Override
+    public void attemptSucceeded(String name, int attempt) {
+        offer(SUCCEEDED, name, attempt, null);
+    }
+
+    @Override
+    public void attemptFailed(String name, int attempt, Throwable error) {
+        offer(FAILED, name, attempt, error);
+    }
+
+    @Override
+    public void exhausted(String name, int attempts, Throwable lastError) {
+        offer(EXHAUSTED, name, attempts, lastError);
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(drainer);
+
+        try {
+            drainer.join();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void offer(int kind, String name, int attempt, Throwable error) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+
+        for (; ; ) {
+            long pos = tail.get();
+            int idx = (int) (pos & mask);
+            long diff = sequences.get(idx) - pos;
+
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    kinds[idx] = kind;
+                    names[idx] = name;
+                    attempts[idx] = attempt;
+                    errors[idx] = error;
+                    sequences.lazySet(idx, pos + 1);
+                    return;
+                }
+            } else if (diff < 0) {
+                dropped.increment();
+                return;
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+
+        while (drain() > 0) {
+            // flush what was published before close()
+        }
+    }
+
+    private int drain() {
+        int drained = 0;
+
+        while (drained < DRAIN_BATCH) {
+            int idx = (int) (head & mask);
+
+            if (sequences.get(idx) != head + 1) {
+                break;
+            }
+
+            int kind = kinds[idx];
+            String name = names[idx];
+            int attempt = attempts[idx];
+            Throwable error = errors[idx];
+
+            names[idx] = null;
+            errors[idx] = null;
+            sequences.lazySet(idx, head + mask + 1);
+            head++;
+            drained++;
+
+            dispatch(kind, name, attempt, error);
+        }
+
+        return drained;
+    }
+
+    private void dispatch(int kind, String name, int attempt, Throwable error) {
+        try {
+            switch (kind) {
+                case STARTED:
+                    delegate.attemptStarted(name, attempt);
+                    break;
+                case SUCCEEDED:
+                    delegate.attemptSucceeded(name, attempt);
+                    break;
+                case FAILED:
+                    delegate.attemptFailed(name, attempt, error);
+                    break;
+                default:
+                    delegate.exhausted(name, attempt, error);
+                    break;
+            }
+        } catch (Throwable ignore) {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package id.xtramile.flexretry.observability.metrics;
+
+import id.xtramile.flexretry.support.time.Clock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per (name, error class) log limiter: lets "permitsPerWindow" lines through per window,
+ * then samples one in "sampleEvery" (0 drops everything beyond the limit).
+ */
+public final class LogRateLimiter {
+    private final int permitsPerWindow;
+    private final long windowNanos;
+    private final int sampleEvery;
+    private final Clock clock;
+
+    private final Map<String, Map<Class<?>, Window>> windows = new ConcurrentHashMap<>();
+
+    public LogRateLimiter(int permitsPerWindow, long windowDuration, TimeUnit unit, int sampleEvery) {
+        this(permitsPerWindow, windowDuration, unit, sampleEvery, Clock.system());
+    }
+
+    public LogRateLimiter(int permitsPerWindow, long windowDuration, TimeUnit unit, int sampleEvery, Clock clock) {
+        if (permitsPerWindow < 0) {
+            throw new IllegalArgumentException("permitsPerWindow >= 0");
+        }
+
+        if (windowDuration <= 0) {
+            throw new IllegalArgumentException("windowDuration > 0");
+        }
+
+        if (sampleEvery < 0) {
+            throw new IllegalArgumentException("sampleEvery >= 0");
+        }
+
+        this.permitsPerWindow = permitsPerWindow;
+        this.windowNanos = unit.toNanos(windowDuration);
+        this.sampleEvery = sampleEvery;
+        this.clock = clock == null ? Clock.system() : clock;
+    }
+
+    public boolean tryAcquire(String name, Class<?> errorClass) {
+        Class<?> key = errorClass == null ? Void.class : errorClass;
+        Window window = windows
+                .computeIfAbsent(name, n -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new Window(clock.nanoTime()));
+
+        int count = window.increment(clock.nanoTime(), windowNanos);
+        if (count <= permitsPerWindow) {
+            return true;
+        }
+
+        return sampleEvery > 0 && (count - permitsPerWindow) % sampleEvery == 0;
+    }
+
+    private static final class Window {
+        private final AtomicLong start;
+        private final AtomicInteger count = new AtomicInteger();
+
+        Window(long startNanos) {
+            this.start = new AtomicLong(startNanos);
+        }
+
+        int increment(long now, long windowNanos) {
+            long begin = start.get();
+
+            if (now - begin >= windowNanos && start.compareAndSet(begin, now)) {
+                count.set(0);
+            }
+
+            return count.incrementAndGet();
+        }
+    }
+}
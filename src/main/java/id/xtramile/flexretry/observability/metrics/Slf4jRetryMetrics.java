@@ -3,32 +3,53 @@ package id.xtramile.flexretry.observability.metrics;
 /**
  * Lightweight logger-based metrics without pulling SLF4J
  * Replace with a real adapter in your app if you use SLF4J/Micrometer
+ * <p>
+ * Messages are only built when the level is enabled and the optional
+ * {@link LogRateLimiter} lets the (name, error class) pair through.
  */
 public final class Slf4jRetryMetrics implements RetryMetrics {
     private final Logger log;
+    private final LogRateLimiter limiter;
 
     public Slf4jRetryMetrics(Logger log) {
+        this(log, null);
+    }
+
+    public Slf4jRetryMetrics(Logger log, LogRateLimiter limiter) {
         this.log = log;
+        this.limiter = limiter;
     }
 
     @Override
     public void attemptStarted(String name, int attempt) {
-        log.debug(name + " attemptsStarted#" + attempt);
+        if (log.isDebugEnabled() && permits(name, null)) {
+            log.debug(name + " attemptsStarted#" + attempt);
+        }
     }
 
     @Override
     public void attemptSucceeded(String name, int attempt) {
-        log.info(name + " attemptsSucceeded#" + attempt);
+        if (log.isInfoEnabled() && permits(name, null)) {
+            log.info(name + " attemptsSucceeded#" + attempt);
+        }
     }
 
     @Override
     public void attemptFailed(String name, int attempt, Throwable error) {
-        log.warn(name + " attemptsFailed#" + attempt + " err=" + (error == null ? "null" : error.getClass().getSimpleName()));
+        if (log.isWarnEnabled() && permits(name, error)) {
+            log.warn(name + " attemptsFailed#" + attempt + " err=" + (error == null ? "null" : error.getClass().getSimpleName()));
+        }
     }
 
     @Override
     public void exhausted(String name, int attempts, Throwable lastError) {
-        log.error(name + " exhausted after " + attempts + " attempts", lastError);
+        if (log.isErrorEnabled() && permits(name, lastError)) {
+            log.error(name + " exhausted after " + attempts + " attempts", lastError);
+        }
+    }
+
+    private boolean permits(String name, Throwable error) {
+        return limiter == null || limiter.tryAcquire(name, error == null ? null : error.getClass());
     }
 
     public interface Logger {
@@ -39,5 +60,21 @@ public final class Slf4jRetryMetrics implements RetryMetrics {
         void warn(String message);
 
         void error(String message, Throwable t);
+
+        default boolean isDebugEnabled() {
+            return true;
+        }
+
+        default boolean isInfoEnabled() {
+            return true;
+        }
+
+        default boolean isWarnEnabled() {
+            return true;
+        }
+
+        default boolean isErrorEnabled() {
+            return true;
+        }
     }
 }
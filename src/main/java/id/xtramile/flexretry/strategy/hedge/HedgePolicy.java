@@ -0,0 +1,49 @@
+package id.xtramile.flexretry.strategy.hedge;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Decides when a speculative parallel copy of a slow attempt is launched.
+ * The first copy to succeed wins; the others are cancelled.
+ */
+public interface HedgePolicy {
+    static HedgePolicy fixed(Duration delay, int maxHedges) {
+        Objects.requireNonNull(delay, "delay");
+
+        if (maxHedges < 1) {
+            throw new IllegalArgumentException("maxHedges >= 1");
+        }
+
+        return new HedgePolicy() {
+            @Override
+            public Duration hedgeDelay() {
+                return delay;
+            }
+
+            @Override
+            public int maxHedges() {
+                return maxHedges;
+            }
+        };
+    }
+
+    /**
+     * Hedges once an attempt is slower than the given percentile (0..1) of recent attempt latencies;
+     * "initialDelay" is used until enough latencies have been recorded.
+     */
+    static HedgePolicy percentile(double percentile, int maxHedges, Duration initialDelay) {
+        return new PercentileHedgePolicy(percentile, maxHedges, initialDelay, 128);
+    }
+
+    Duration hedgeDelay();
+
+    int maxHedges();
+
+    /**
+     * Called with the latency of the primary copy of every hedged attempt; when a winning hedge
+     * or the timeout cut the primary short, with its elapsed time so far. Failed primaries are skipped.
+     */
+    default void recordLatency(long latencyNanos) {
+    }
+}
@@ -0,0 +1,79 @@
+package id.xtramile.flexretry.strategy.hedge;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Hedge delay taken from a ring of the most recent primary-copy latencies.
+ * The percentile is recomputed every few samples rather than on every attempt.
+ */
+final class PercentileHedgePolicy implements HedgePolicy {
+    private static final int MIN_SAMPLES = 16;
+
+    private final double percentile;
+    private final int maxHedges;
+    private final Duration initialDelay;
+    private final AtomicLongArray samples;
+    private final AtomicLong cursor = new AtomicLong();
+    private final int refreshEvery;
+
+    private volatile Duration cached;
+    private volatile long cachedAt = -1;
+
+    PercentileHedgePolicy(double percentile, int maxHedges, Duration initialDelay, int window) {
+        if (percentile <= 0.0 || percentile > 1.0) {
+            throw new IllegalArgumentException("0 < percentile <= 1");
+        }
+
+        if (maxHedges < 1) {
+            throw new IllegalArgumentException("maxHedges >= 1");
+        }
+
+        this.percentile = percentile;
+        this.maxHedges = maxHedges;
+        this.initialDelay = Objects.requireNonNull(initialDelay, "initialDelay");
+        this.samples = new AtomicLongArray(window);
+        this.refreshEvery = Math.max(1, window / 8);
+        this.cached = initialDelay;
+    }
+
+    @Override
+    public Duration hedgeDelay() {
+        long recorded = cursor.get();
+
+        if (recorded < MIN_SAMPLES) {
+            return initialDelay;
+        }
+
+        if (recorded - cachedAt >= refreshEvery) {
+            int count = (int) Math.min(recorded, samples.length());
+            long[] copy = new long[count];
+
+            for (int i = 0; i < count; i++) {
+                copy[i] = samples.get(i);
+            }
+
+            Arrays.sort(copy);
+            int index = Math.max(0, (int) Math.ceil(percentile * count) - 1);
+
+            cached = Duration.ofNanos(copy[index]);
+            cachedAt = recorded;
+        }
+
+        return cached;
+    }
+
+    @Override
+    public int maxHedges() {
+        return maxHedges;
+    }
+
+    @Override
+    public void recordLatency(long latencyNanos) {
+        long slot = cursor.getAndIncrement();
+        samples.set((int) (slot % samples.length()), Math.max(0L, latencyNanos));
+    }
+}
@@ -24,4 +24,17 @@ public final class CompositeStop implements StopStrategy {
 
         return false;
     }
+
+    @Override
+    public long remainingNanos(long startNanos, long nowNanos) {
+        long remaining = Long.MAX_VALUE;
+
+        for (StopStrategy strategy : list) {
+            if (strategy != null) {
+                remaining = Math.min(remaining, strategy.remainingNanos(startNanos, nowNanos));
+            }
+        }
+
+        return remaining;
+    }
 }
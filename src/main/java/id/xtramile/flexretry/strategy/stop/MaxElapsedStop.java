@@ -24,6 +24,11 @@ public final class MaxElapsedStop implements StopStrategy {
         return elapsed + next > budgetNanos;
     }
 
+    @Override
+    public long remainingNanos(long startNanos, long nowNanos) {
+        return budgetNanos - (nowNanos - startNanos);
+    }
+
     public Duration budget() {
         return Duration.ofNanos(budgetNanos);
     }
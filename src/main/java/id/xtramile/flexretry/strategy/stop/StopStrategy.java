@@ -4,4 +4,11 @@ import java.time.Duration;
 
 public interface StopStrategy {
     boolean shouldStop(int attempt, long startNanos, long nowNanos, Duration nextDelay);
+
+    /**
+     * Time left before this strategy stops regardless of attempts; Long.MAX_VALUE when unbounded.
+     */
+    default long remainingNanos(long startNanos, long nowNanos) {
+        return Long.MAX_VALUE;
+    }
 }
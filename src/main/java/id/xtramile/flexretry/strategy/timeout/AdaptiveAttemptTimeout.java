@@ -0,0 +1,113 @@
+package id.xtramile.flexretry.strategy.timeout;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-attempt timeout of quantile(successful latency) × multiplier, clamped to [min, max].
+ * Latencies are tracked per retry name in a decaying histogram; until a name has enough
+ * samples its attempts get the max timeout. A timed-out attempt counts as a censored sample at
+ * the timeout it hit, and a run of consecutive timeouts widens the timeout to max until the next
+ * success, so a latency shift above the current timeout cannot lock callers out.
+ */
+public final class AdaptiveAttemptTimeout implements AttemptTimeoutStrategy {
+    private static final int WARMUP_SAMPLES = 20;
+    private static final int REFRESH_EVERY = 32;
+    private static final int WIDEN_AFTER_TIMEOUTS = 5;
+
+    private final double quantile;
+    private final double multiplier;
+    private final Duration min;
+    private final Duration max;
+    private final int decayEvery;
+    private final Map<String, Estimate> estimates = new ConcurrentHashMap<>();
+
+    public AdaptiveAttemptTimeout(double quantile, double multiplier, Duration min, Duration max) {
+        this(quantile, multiplier, min, max, 1024);
+    }
+
+    public AdaptiveAttemptTimeout(double quantile, double multiplier, Duration min, Duration max, int decayEvery) {
+        if (quantile <= 0.0 || quantile > 1.0) {
+            throw new IllegalArgumentException("0 < quantile <= 1");
+        }
+
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("multiplier >= 1");
+        }
+
+        if (decayEvery < 1) {
+            throw new IllegalArgumentException("decayEvery >= 1");
+        }
+
+        this.min = Objects.requireNonNull(min, "min");
+        this.max = Objects.requireNonNull(max, "max");
+
+        if (min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("min <= max");
+        }
+
+        this.quantile = quantile;
+        this.multiplier = multiplier;
+        this.decayEvery = decayEvery;
+    }
+
+    @Override
+    public Duration timeoutForAttempt(int attempt) {
+        return max;
+    }
+
+    @Override
+    public Duration timeoutFor(String name, int attempt) {
+        Estimate estimate = estimates.get(name);
+        return estimate == null ? max : estimate.current();
+    }
+
+    @Override
+    public void recordSuccess(String name, long latencyNanos) {
+        Estimate estimate = estimates.computeIfAbsent(name, n -> new Estimate());
+        estimate.record(latencyNanos);
+        estimate.consecutiveTimeouts.set(0);
+    }
+
+    @Override
+    public void recordTimeout(String name, long timeoutNanos) {
+        Estimate estimate = estimates.computeIfAbsent(name, n -> new Estimate());
+        estimate.record(timeoutNanos);
+        estimate.consecutiveTimeouts.incrementAndGet();
+        // Re-estimate on the next call rather than after the regular refresh interval
+        estimate.cachedAt = -REFRESH_EVERY;
+    }
+
+    private final class Estimate {
+        final DecayingHistogram histogram = new DecayingHistogram(decayEvery);
+        final AtomicInteger consecutiveTimeouts = new AtomicInteger();
+        volatile Duration cached = max;
+        volatile long cachedAt = -REFRESH_EVERY;
+
+        void record(long latencyNanos) {
+            histogram.record(latencyNanos);
+        }
+
+        Duration current() {
+            long samples = histogram.samples();
+
+            if (samples < WARMUP_SAMPLES || consecutiveTimeouts.get() >= WIDEN_AFTER_TIMEOUTS) {
+                return max;
+            }
+
+            if (samples - cachedAt >= REFRESH_EVERY) {
+                long q = histogram.quantileNanos(quantile);
+                long scaled = (long) Math.min(Long.MAX_VALUE, q * multiplier);
+                long clamped = Math.max(min.toNanos(), Math.min(max.toNanos(), scaled));
+
+                cached = Duration.ofNanos(clamped);
+                cachedAt = samples;
+            }
+
+            return cached;
+        }
+    }
+}
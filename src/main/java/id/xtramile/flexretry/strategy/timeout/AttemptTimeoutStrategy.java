@@ -16,5 +16,28 @@ public interface AttemptTimeoutStrategy {
         };
     }
 
+    /**
+     * Timeout of quantile(successful latency) × multiplier per retry name, clamped to [min, max].
+     */
+    static AttemptTimeoutStrategy adaptive(double quantile, double multiplier, Duration min, Duration max) {
+        return new AdaptiveAttemptTimeout(quantile, multiplier, min, max);
+    }
+
     Duration timeoutForAttempt(int attempt);
+
+    default Duration timeoutFor(String name, int attempt) {
+        return timeoutForAttempt(attempt);
+    }
+
+    /**
+     * Called by the executor with the latency of every attempt that completed without error.
+     */
+    default void recordSuccess(String name, long latencyNanos) {
+    }
+
+    /**
+     * Called by the executor when an attempt ran into its full timeout of "timeoutNanos".
+     */
+    default void recordTimeout(String name, long timeoutNanos) {
+    }
 }
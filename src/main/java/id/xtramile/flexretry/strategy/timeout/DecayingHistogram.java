@@ -0,0 +1,81 @@
+package id.xtramile.flexretry.strategy.timeout;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-bucketed latency histogram whose counts are halved every "decayEvery" samples,
+ * so quantiles follow recent latency rather than the whole history.
+ * Buckets grow by 20% from 1µs, which bounds the relative error of a quantile to that step.
+ */
+final class DecayingHistogram {
+    private static final double GROWTH = 1.2;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+    private static final long BASE_NANOS = 1_000L;
+    private static final int BUCKETS = 128;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong samples = new AtomicLong();
+    private final int decayEvery;
+
+    DecayingHistogram(int decayEvery) {
+        this.decayEvery = decayEvery;
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos <= BASE_NANOS) {
+            return 0;
+        }
+
+        int bucket = (int) (Math.log((double) nanos / BASE_NANOS) / LOG_GROWTH) + 1;
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long upperBoundNanos(int bucket) {
+        return (long) (BASE_NANOS * Math.pow(GROWTH, bucket));
+    }
+
+    void record(long nanos) {
+        counts.incrementAndGet(bucketOf(nanos));
+
+        if (samples.incrementAndGet() % decayEvery == 0) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.getAndUpdate(i, c -> c >> 1);
+            }
+        }
+    }
+
+    long samples() {
+        return samples.get();
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile, or -1 when empty.
+     */
+    long quantileNanos(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+
+        if (total == 0) {
+            return -1;
+        }
+
+        long target = (long) Math.ceil(quantile * total);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+
+            if (seen >= target) {
+                return upperBoundNanos(i);
+            }
+        }
+
+        return upperBoundNanos(BUCKETS - 1);
+    }
+}
@@ -0,0 +1,17 @@
+package id.xtramile.flexretry.strategy.timeout;
+
+/**
+ * How a per-attempt timeout is enforced.
+ */
+public enum TimeoutMode {
+    /**
+     * Attempt runs on the attempt executor; the caller waits on the future (one thread hop).
+     */
+    EXECUTOR,
+    /**
+     * Attempt runs on the calling thread; a shared watchdog interrupts it at the deadline.
+     * When hedging, only the primary copy runs there and a winning hedge also interrupts it.
+     * The task must respond to interruption to be cut short.
+     */
+    CALLER_THREAD
+}
@@ -0,0 +1,57 @@
+package id.xtramile.flexretry.support.threads;
+
+import id.xtramile.flexretry.RetryOutcome;
+import id.xtramile.flexretry.Sleeper;
+import id.xtramile.flexretry.config.RetryConfig;
+import id.xtramile.flexretry.control.bulk.BulkRetryExecutor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Virtual-thread helpers for blocking-style retries. This is the Java 11 version, which falls back
+ * to platform threads; on JDK 21+ the multi-release jar swaps in a virtual-thread implementation.
+ */
+public final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return false;
+    }
+
+    public static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+
+        return r -> {
+            Thread t = new Thread(r, prefix + counter.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Attempt executor for timeouts and hedging: one thread per attempt.
+     */
+    public static ExecutorService attemptExecutor() {
+        return Executors.newCachedThreadPool(threadFactory("flexretry-attempt-"));
+    }
+
+    public static Sleeper sleeper() {
+        return Sleeper.system();
+    }
+
+    /**
+     * Runs every task through "config" concurrently and returns outcomes in input order.
+     */
+    public static <T> List<RetryOutcome<T>> runAll(RetryConfig<T> config, Collection<? extends Callable<T>> tasks) {
+        try (BulkRetryExecutor<T> bulk = new BulkRetryExecutor<>(config, Runtime.getRuntime().availableProcessors())) {
+            return bulk.runAll(tasks);
+        }
+    }
+}
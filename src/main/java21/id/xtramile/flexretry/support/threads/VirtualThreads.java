@@ -0,0 +1,90 @@
+package id.xtramile.flexretry.support.threads;
+
+import id.xtramile.flexretry.RetryException;
+import id.xtramile.flexretry.RetryOutcome;
+import id.xtramile.flexretry.Sleeper;
+import id.xtramile.flexretry.config.RetryConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual-thread helpers for blocking-style retries (JDK 21+ layer of the multi-release jar).
+ * Retries that sleep or block park their virtual thread instead of holding a platform thread.
+ */
+public final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return true;
+    }
+
+    public static ThreadFactory threadFactory(String prefix) {
+        return Thread.ofVirtual().name(prefix, 0).factory();
+    }
+
+    /**
+     * Attempt executor for timeouts and hedging: one virtual thread per attempt.
+     */
+    public static ExecutorService attemptExecutor() {
+        return Executors.newThreadPerTaskExecutor(threadFactory("flexretry-attempt-"));
+    }
+
+    public static Sleeper sleeper() {
+        return duration -> {
+            if (duration.isNegative() || duration.isZero()) {
+                return;
+            }
+
+            Thread.sleep(duration);
+        };
+    }
+
+    /**
+     * Runs every task through "config" on its own virtual thread and returns outcomes in input order.
+     */
+    public static <T> List<RetryOutcome<T>> runAll(RetryConfig<T> config, Collection<? extends Callable<T>> tasks) {
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(threadFactory("flexretry-bulk-"))) {
+            List<Future<RetryOutcome<T>>> futures = new ArrayList<>(tasks.size());
+
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> runOne(config, task)));
+            }
+
+            List<RetryOutcome<T>> outcomes = new ArrayList<>(futures.size());
+
+            for (Future<RetryOutcome<T>> future : futures) {
+                try {
+                    outcomes.add(future.get());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(f -> f.cancel(true));
+                    throw new CancellationException("Interrupted while waiting for bulk retries");
+                } catch (ExecutionException ee) {
+                    outcomes.add(new RetryOutcome<>(false, null, ee.getCause(), 0));
+                }
+            }
+
+            return outcomes;
+        }
+    }
+
+    private static <T> RetryOutcome<T> runOne(RetryConfig<T> config, Callable<T> task) {
+        try {
+            return new RetryOutcome<>(true, config.run(task), null, 0);
+        } catch (RetryException e) {
+            return new RetryOutcome<>(false, null, e.getCause(), e.attempts());
+        } catch (Throwable t) {
+            return new RetryOutcome<>(false, null, t, 0);
+        }
+    }
+}
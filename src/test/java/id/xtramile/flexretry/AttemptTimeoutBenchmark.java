@@ -0,0 +1,129 @@
+package id.xtramile.flexretry;
+
+import id.xtramile.flexretry.config.RetryConfig;
+import id.xtramile.flexretry.strategy.timeout.TimeoutMode;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Standalone benchmark of a timed attempt in {@link TimeoutMode#EXECUTOR} versus
+ * {@link TimeoutMode#CALLER_THREAD}; not run by the build.
+ * <p>
+ * Usage: {@code java -cp target/classes:target/test-classes id.xtramile.flexretry.AttemptTimeoutBenchmark [calls] [threads] [workNanos]}
+ */
+public final class AttemptTimeoutBenchmark {
+    private static final int ROUNDS = 5;
+
+    private AttemptTimeoutBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        long workNanos = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+
+        ExecutorService attemptExecutor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "flexretry-bench-attempt");
+            t.setDaemon(true);
+            return t;
+        });
+
+        System.out.printf("calls=%d threads=%d workNanos=%d%n", calls, threads, workNanos);
+
+        try {
+            for (int round = 1; round <= ROUNDS; round++) {
+                // Alternate the order so neither mode always runs on a warmer JIT
+                boolean executorFirst = round % 2 == 1;
+                TimeoutMode first = executorFirst ? TimeoutMode.EXECUTOR : TimeoutMode.CALLER_THREAD;
+                TimeoutMode second = executorFirst ? TimeoutMode.CALLER_THREAD : TimeoutMode.EXECUTOR;
+
+                report(round, first, measure(config(first, attemptExecutor), calls, threads, workNanos));
+                report(round, second, measure(config(second, attemptExecutor), calls, threads, workNanos));
+            }
+        } finally {
+            attemptExecutor.shutdownNow();
+        }
+    }
+
+    private static RetryConfig<Long> config(TimeoutMode mode, ExecutorService attemptExecutor) {
+        return Retry.<Long>newBuilder()
+                .name("bench-" + mode)
+                .maxAttempts(1)
+                .attemptTimeout(Duration.ofSeconds(10))
+                .attemptExecutor(attemptExecutor)
+                .timeoutMode(mode)
+                .toConfig();
+    }
+
+    /**
+     * Mean nanoseconds per call as seen by each calling thread.
+     */
+    private static double measure(RetryConfig<Long> config, int calls, int threads, long workNanos) throws InterruptedException {
+        Callable<Long> task = () -> spin(workNanos);
+        int perThread = Math.max(1, calls / threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicLong sink = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+
+        for (int i = 0; i < threads; i++) {
+            Thread t = new Thread(() -> {
+                long local = 0L;
+
+                try {
+                    start.await();
+
+                    for (int n = 0; n < perThread; n++) {
+                        local += config.run(task);
+                    }
+                } catch (Throwable e) {
+                    failures.incrementAndGet();
+                } finally {
+                    sink.addAndGet(local);
+                    done.countDown();
+                }
+            }, "flexretry-bench-caller-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " benchmark thread(s) failed");
+        }
+
+        if (sink.get() == 42L) {
+            System.out.print(""); // keep the results live
+        }
+
+        return (double) elapsed / perThread;
+    }
+
+    private static long spin(long workNanos) {
+        if (workNanos <= 0L) {
+            return 1L;
+        }
+
+        long end = System.nanoTime() + workNanos;
+        long n = 0L;
+
+        while (System.nanoTime() < end) {
+            n++;
+        }
+
+        return n;
+    }
+
+    private static void report(int round, TimeoutMode mode, double nanosPerCall) {
+        System.out.printf("round %d %-13s %,10.0f ns/call%n", round, mode, nanosPerCall);
+    }
+}